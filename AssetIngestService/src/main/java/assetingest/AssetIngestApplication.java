@@ -19,7 +19,8 @@ public class AssetIngestApplication {
             AssetStore assetStore,
             AssetOrigins assetOrigins,
             SubjectDetectionAPI subjectDetectionAPI,
-            PricingService pricingService) {
+            PricingService pricingService,
+            AssetMetadataChangePublisher changes) {
         return new IngestEngine(
                 assetRepository,
                 assetMetadataRepository,
@@ -28,7 +29,8 @@ public class AssetIngestApplication {
                 assetStore,
                 assetOrigins,
                 subjectDetectionAPI,
-                pricingService);
+                pricingService,
+                changes);
     }
 }
 
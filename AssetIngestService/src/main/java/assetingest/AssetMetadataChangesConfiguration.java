@@ -0,0 +1,21 @@
+package assetingest;
+
+import assetmetadataregistry.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.context.annotation.*;
+
+import java.nio.file.*;
+import java.util.*;
+
+@Configuration
+public class AssetMetadataChangesConfiguration {
+    @Bean
+    public AssetMetadataChangePublisher createAssetMetadataChangePublisher(
+            @Value("${assetingest.changes.directory:}") String directory
+    ) {
+        if (directory == null || Objects.equals("", directory.trim()))
+            return change -> {};
+
+        return new SpoolDirectoryAssetMetadataChangeFeed(Paths.get(directory));
+    }
+}
@@ -1,5 +1,8 @@
 package assetingest;
 
+import assetmetadataregistry.AssetMetadataChange;
+import assetmetadataregistry.AssetMetadataChangeKind;
+import assetmetadataregistry.AssetMetadataChangePublisher;
 import assetmetadataregistry.AssetMetadataRepository;
 import assetregistry.AssetRepository;
 import assetsubjectsregistry.*;
@@ -20,6 +23,7 @@ public class IngestEngine {
     private final AssetMetadataRepository metadata;
     private final SubjectDetectionAPI subjectsAPI;
     private final PricingService pricingService;
+    private final AssetMetadataChangePublisher changes;
 
     public IngestEngine(
             AssetRepository assets,
@@ -30,6 +34,19 @@ public class IngestEngine {
             AssetOrigins assetOrigins,
             SubjectDetectionAPI subjectsAPI,
             PricingService pricingService) {
+        this(assets, metadata, subjects, scaler, assetStore, assetOrigins, subjectsAPI, pricingService, change -> {});
+    }
+
+    public IngestEngine(
+            AssetRepository assets,
+            AssetMetadataRepository metadata,
+            AssetSubjectsRepository subjects,
+            ImageScaler scaler,
+            AssetStore assetStore,
+            AssetOrigins assetOrigins,
+            SubjectDetectionAPI subjectsAPI,
+            PricingService pricingService,
+            AssetMetadataChangePublisher changes) {
         this.metadata = metadata;
         this.assets = assets;
         this.subjects = subjects;
@@ -38,6 +55,7 @@ public class IngestEngine {
         this.assetOrigins = assetOrigins;
         this.subjectsAPI = subjectsAPI;
         this.pricingService = pricingService;
+        this.changes = changes;
     }
 
     public String addAsset(Session session, IngestDescriptor descriptor) {
@@ -45,8 +63,10 @@ public class IngestEngine {
         final String id = ingestPrimaryImage(session, primaryImage);
 
         ingestMetadata(session, descriptor, id);
+        announce(AssetMetadataChangeKind.AssetAdded, id);
 
         ingestThumbs(session, primaryImage, id);
+        announce(AssetMetadataChangeKind.MetadataChanged, id);
 
         ingestSubjects(session, descriptor, id);
 
@@ -55,6 +75,15 @@ public class IngestEngine {
         return id;
     }
 
+    private void announce(AssetMetadataChangeKind kind, String id) {
+        // the asset is already committed; a lost announcement only delays it showing up in search
+        try {
+            changes.publish(new AssetMetadataChange(kind, id));
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
     private void ingestPricing(IngestDescriptor.PricingDescriptor descriptor, String id) {
         final var initialPricingCode = descriptor.getInitialPricingCode();
         pricingService.setPricingPolicy(id, initialPricingCode != null ? initialPricingCode : "default");
@@ -28,6 +28,7 @@ public class IngestTests {
     private FakeAssetOrigins assetOrigins;
     private HttpServiceEndpoint subjectsEndpoint;
     private PricingService pricingService;
+    private InProcessAssetMetadataChangeFeed changes;
 
     @BeforeEach
     public void beforeEach() throws Throwable {
@@ -39,7 +40,8 @@ public class IngestTests {
         assetOrigins = new FakeAssetOrigins();
         subjectsEndpoint = mock(HttpServiceEndpoint.class);
         pricingService = mock(PricingService.class);
-        ingestEngine = new IngestEngine(assets, metadata, subjects, scaler, assetStore, assetOrigins, new SubjectDetectionAPI(subjectsEndpoint), pricingService);
+        changes = new InProcessAssetMetadataChangeFeed();
+        ingestEngine = new IngestEngine(assets, metadata, subjects, scaler, assetStore, assetOrigins, new SubjectDetectionAPI(subjectsEndpoint), pricingService, changes);
         assetId = UUID.randomUUID().toString();
         session = mock(Session.class);
         when(assets.provisionAsset(eq(session), any())).thenReturn(assetId);
@@ -228,6 +230,30 @@ public class IngestTests {
         verify(pricingService, times(1)).setPricingPolicy(id, "default");
     }
 
+    @Test
+    public void announcesTheNewAssetToSearch() {
+        final var descriptor = new IngestDescriptor();
+
+        final var id = ingestEngine.addAsset(session, descriptor);
+
+        assertEquals(
+                List.of(
+                        new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, id),
+                        new AssetMetadataChange(AssetMetadataChangeKind.MetadataChanged, id)),
+                changes.take(10));
+    }
+
+    @Test
+    public void ingestionSucceedsWhenTheAnnouncementIsLost() {
+        ingestEngine = new IngestEngine(assets, metadata, subjects, scaler, assetStore, assetOrigins, new SubjectDetectionAPI(subjectsEndpoint), pricingService, change -> {
+            throw new IllegalStateException("feed is down");
+        });
+        final var descriptor = new IngestDescriptor();
+
+        assertEquals(assetId, ingestEngine.addAsset(session, descriptor));
+        verify(pricingService).setPricingPolicy(assetId, "default");
+    }
+
     @Test
     public void canHandleALackOfText() {
         final var descriptor = new IngestDescriptor();
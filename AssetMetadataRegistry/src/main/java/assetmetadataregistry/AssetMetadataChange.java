@@ -0,0 +1,45 @@
+package assetmetadataregistry;
+
+import java.util.*;
+
+/**
+ * Tells readers of the catalog that an asset's metadata was committed and should be read again.
+ */
+public final class AssetMetadataChange {
+    private final AssetMetadataChangeKind kind;
+    private final String assetId;
+
+    public AssetMetadataChange(AssetMetadataChangeKind kind, String assetId) {
+        this.kind = Objects.requireNonNull(kind);
+        this.assetId = Objects.requireNonNull(assetId);
+    }
+
+    public AssetMetadataChangeKind getKind() {
+        return kind;
+    }
+
+    public String getAssetId() {
+        return assetId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof AssetMetadataChange))
+            return false;
+
+        final var that = (AssetMetadataChange) other;
+        return kind == that.kind && assetId.equals(that.assetId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, assetId);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + assetId;
+    }
+}
@@ -0,0 +1,30 @@
+package assetmetadataregistry;
+
+import java.util.*;
+
+/**
+ * Carries asset metadata changes from the services that write the catalog to the ones that keep copies of it.
+ */
+public interface AssetMetadataChangeFeed extends AssetMetadataChangePublisher {
+    /**
+     * Returns up to the given number of changes, oldest first, without removing them. Until they are acknowledged,
+     * later calls return the same changes again. Returns an empty list when nothing is waiting.
+     */
+    List<AssetMetadataChange> peek(int maximum);
+
+    /**
+     * Removes changes returned by the most recent {@link #peek(int)}, once the consumer has acted on them.
+     */
+    void acknowledge(List<AssetMetadataChange> changes);
+
+    /**
+     * Removes and returns up to the given number of changes, oldest first. A consumer that fails after taking them
+     * loses them, so one that must see every change peeks and acknowledges instead.
+     */
+    default List<AssetMetadataChange> take(int maximum) {
+        final var result = peek(maximum);
+        acknowledge(result);
+
+        return result;
+    }
+}
@@ -0,0 +1,6 @@
+package assetmetadataregistry;
+
+public enum AssetMetadataChangeKind {
+    AssetAdded,
+    MetadataChanged
+}
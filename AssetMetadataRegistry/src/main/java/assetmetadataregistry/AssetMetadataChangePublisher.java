@@ -0,0 +1,8 @@
+package assetmetadataregistry;
+
+/**
+ * The sending end of an asset metadata change feed.
+ */
+public interface AssetMetadataChangePublisher {
+    void publish(AssetMetadataChange change);
+}
@@ -0,0 +1,424 @@
+package assetmetadataregistry;
+
+import org.hibernate.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * An in-memory inverted index over asset titles and descriptions. Each language's text is analyzed with that
+ * language's rules and kept in its own term tables, so a query is answered by looking up its terms rather than by
+ * scanning the catalog.
+ *
+ * Matches are ranked with BM25 over each language's title and description, with title matches weighted higher.
+ *
+ * This object is safe to share between threads.
+ */
+public class AssetMetadataIndex {
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int FIELDS_PER_LANGUAGE = 2;
+    private static final float[] FIELD_WEIGHTS = {2.0f, 1.0f};
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // indexed by field, which is language ordinal * FIELDS_PER_LANGUAGE + TITLE or DESCRIPTION
+    private final List<Map<String, PostingList>> postings = new ArrayList<>();
+    private final char[][] lengths;
+    private final long[] totalLengths;
+    private final DocumentIds documents = new DocumentIds();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<AssetMetadataIndexListener> listeners = new CopyOnWriteArrayList<>();
+
+    public AssetMetadataIndex() {
+        final var fields = SearchLanguage.values().length * FIELDS_PER_LANGUAGE;
+        for (var field = 0; field < fields; ++field)
+            postings.add(new HashMap<>());
+        lengths = new char[fields][16];
+        totalLengths = new long[fields];
+    }
+
+    /**
+     * Loads every asset currently in the database into the index.
+     */
+    public void indexAll(Session session) {
+        try (final var records = session.createQuery("select results from assets_metadata results", AssetMetadataRecord.class)
+                .setReadOnly(true)
+                .setFetchSize(1000)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (records.next()) {
+                final var record = (AssetMetadataRecord) records.get(0);
+                index(record);
+                session.evict(record);
+            }
+        }
+    }
+
+    /**
+     * Adds an asset to the index or, if it is already there, replaces everything known about its text.
+     */
+    public void index(AssetMetadataRecord record) {
+        indexWithoutNotifying(record);
+        notifyListeners(List.of(record.getId()));
+    }
+
+    /**
+     * Forgets an asset entirely.
+     */
+    public void remove(String assetId) {
+        removeWithoutNotifying(assetId);
+        notifyListeners(List.of(assetId));
+    }
+
+    /**
+     * Indexes the changed records and forgets the removed assets, then tells the listeners about all of them in a
+     * single call.
+     */
+    public void update(List<AssetMetadataRecord> changed, List<String> removed) {
+        final var assetIds = new ArrayList<String>(changed.size() + removed.size());
+        for (var record : changed) {
+            indexWithoutNotifying(record);
+            assetIds.add(record.getId());
+        }
+        for (var assetId : removed) {
+            removeWithoutNotifying(assetId);
+            assetIds.add(assetId);
+        }
+
+        if (!assetIds.isEmpty())
+            notifyListeners(assetIds);
+    }
+
+    private void indexWithoutNotifying(AssetMetadataRecord record) {
+        final var fields = postings.size();
+        final var frequencies = new ArrayList<Map<String, Integer>>(fields);
+        final var fieldLengths = new int[fields];
+        for (var language : SearchLanguage.values()) {
+            final var text = textOf(record, language);
+            for (var kind = 0; kind < FIELDS_PER_LANGUAGE; ++kind) {
+                final var terms = language.analyze(text[kind]);
+                final var counts = new HashMap<String, Integer>();
+                for (var term : terms)
+                    counts.merge(term, 1, Integer::sum);
+                frequencies.add(counts);
+                fieldLengths[fieldOf(language, kind)] = terms.size();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            // the asset's old document is retired rather than edited out of its posting lists
+            forgetLengths(documents.find(record.getId()));
+            final var document = documents.assign(record.getId());
+            for (var field = 0; field < fields; ++field) {
+                final var fieldPostings = postings.get(field);
+                for (var entry : frequencies.get(field).entrySet())
+                    fieldPostings.computeIfAbsent(entry.getKey(), ignored -> new PostingList()).add(document, entry.getValue());
+                setLength(field, document, fieldLengths[field]);
+            }
+            compactIfMostlyRetired();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeWithoutNotifying(String assetId) {
+        lock.writeLock().lock();
+        try {
+            forgetLengths(documents.retire(assetId));
+            compactIfMostlyRetired();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a listener to be told, after the fact, about every asset indexed or removed.
+     */
+    public void addListener(AssetMetadataIndexListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Finds the ids of every asset whose text in some language contains every term of the query, best match first.
+     */
+    public List<String> find(String query) {
+        return find(query, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds one page of the ids of assets whose text in some language contains every term of the query, best match
+     * first. Only offset + limit matches are ever held, however many assets match.
+     */
+    public List<String> find(String query, int offset, int limit) {
+        if (offset < 0 || limit < 0)
+            throw new IllegalArgumentException("offset and limit must not be negative");
+
+        final var result = new ArrayList<String>();
+        if (limit == 0)
+            return result;
+
+        lock.readLock().lock();
+        try {
+            final var top = new TopDocuments((int) Math.min(Integer.MAX_VALUE, (long) offset + limit), documents::assetOf);
+            collect(query, top);
+
+            final var best = top.drainBestFirst();
+            for (var i = offset; i < best.length; ++i)
+                result.add(documents.assetOf(best[i]));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return result;
+    }
+
+    /**
+     * The number of assets in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops retired documents from every posting list and renumbers the rest densely.
+     */
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            final var newIds = documents.compact();
+            for (var fieldPostings : postings) {
+                final var terms = fieldPostings.entrySet().iterator();
+                while (terms.hasNext()) {
+                    final var entry = terms.next();
+                    final var remapped = entry.getValue().remap(newIds);
+                    if (remapped.size() == 0)
+                        terms.remove();
+                    else
+                        entry.setValue(remapped);
+                }
+            }
+
+            for (var field = 0; field < lengths.length; ++field) {
+                final var compacted = new char[Math.max(16, documents.capacity())];
+                for (var document = 0; document < newIds.length; ++document)
+                    if (newIds[document] >= 0)
+                        compacted[newIds[document]] = lengths[field][document];
+                lengths[field] = compacted;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void notifyListeners(List<String> assetIds) {
+        for (var listener : listeners)
+            listener.indexChanged(assetIds);
+    }
+
+    private void compactIfMostlyRetired() {
+        final var retired = documents.capacity() - documents.size();
+        if (retired > 1024 && retired > documents.size())
+            compact();
+    }
+
+    private void collect(String query, TopDocuments top) {
+        // walk every language's matches together in document order, so a document found in several languages is
+        // scored once, by its best language, without gathering the matches anywhere first
+        final var languages = new ArrayList<LanguageMatches>();
+        for (var language : SearchLanguage.values()) {
+            final var matches = matchesFor(language, new LinkedHashSet<>(language.analyze(query)));
+            if (matches != null) {
+                matches.next();
+                languages.add(matches);
+            }
+        }
+
+        while (true) {
+            var document = PostingList.NO_MORE_DOCUMENTS;
+            for (var matches : languages)
+                document = Math.min(document, matches.current);
+            if (document == PostingList.NO_MORE_DOCUMENTS)
+                return;
+
+            final var live = documents.isLive(document);
+            var score = 0.0f;
+            for (var matches : languages) {
+                if (matches.current != document)
+                    continue;
+
+                if (live)
+                    score = Math.max(score, matches.score());
+                matches.next();
+            }
+
+            if (live)
+                top.offer(document, score);
+        }
+    }
+
+    private LanguageMatches matchesFor(SearchLanguage language, Set<String> terms) {
+        if (terms.isEmpty())
+            return null;
+
+        final var cursors = new ArrayList<TermCursor>();
+        for (var term : terms) {
+            final var title = postings.get(fieldOf(language, TITLE)).get(term);
+            final var description = postings.get(fieldOf(language, DESCRIPTION)).get(term);
+            if (title == null && description == null)
+                return null;
+
+            cursors.add(new TermCursor(language, title, description));
+        }
+        // lead the intersection with the rarest term so the other lists are only probed, never walked in full
+        cursors.sort(Comparator.comparingInt(cursor -> cursor.matches));
+
+        return new LanguageMatches(cursors.toArray(new TermCursor[0]));
+    }
+
+    private float idf(int documentFrequency) {
+        final var total = documents.size();
+        final var frequency = Math.min(documentFrequency, total);
+
+        return (float) Math.log(1 + (total - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    private float termScore(int field, int document, int frequency, float idf) {
+        if (frequency == 0)
+            return 0;
+
+        final var averageLength = Math.max(1.0f, (float) totalLengths[field] / Math.max(1, documents.size()));
+        final var normalization = K1 * (1 - B + B * lengths[field][document] / averageLength);
+
+        return FIELD_WEIGHTS[field % FIELDS_PER_LANGUAGE] * idf * frequency * (K1 + 1) / (frequency + normalization);
+    }
+
+    private void setLength(int field, int document, int length) {
+        if (document >= lengths[field].length)
+            lengths[field] = Arrays.copyOf(lengths[field], Math.max(document + 1, lengths[field].length * 2));
+
+        // lengths only normalize scores, so saturating very long text loses nothing that matters
+        lengths[field][document] = (char) Math.min(length, Character.MAX_VALUE);
+        totalLengths[field] += lengths[field][document];
+    }
+
+    private void forgetLengths(int document) {
+        if (document < 0)
+            return;
+
+        for (var field = 0; field < lengths.length; ++field)
+            totalLengths[field] -= lengths[field][document];
+    }
+
+    private static int fieldOf(SearchLanguage language, int kind) {
+        return language.ordinal() * FIELDS_PER_LANGUAGE + kind;
+    }
+
+    private static String[] textOf(AssetMetadataRecord record, SearchLanguage language) {
+        switch (language) {
+            case English:
+                return new String[]{record.getTitleEnglish(), record.getDescriptionEnglish()};
+            case German:
+                return new String[]{record.getTitleGerman(), record.getDescriptionGerman()};
+            case Spanish:
+                return new String[]{record.getTitleSpanish(), record.getDescriptionSpanish()};
+            case French:
+                return new String[]{record.getTitleFrench(), record.getDescriptionFrench()};
+            default:
+                return new String[2];
+        }
+    }
+
+    /**
+     * The documents that contain one term in either field of one language.
+     */
+    private final class TermCursor {
+        private final int titleField;
+        private final int descriptionField;
+        private final PostingList.Cursor title;
+        private final PostingList.Cursor description;
+        private final float idf;
+        private final int matches;
+        private int titleDocument = -1;
+        private int descriptionDocument = -1;
+        private int current = -1;
+
+        TermCursor(SearchLanguage language, PostingList title, PostingList description) {
+            final var empty = new PostingList();
+            titleField = fieldOf(language, TITLE);
+            descriptionField = fieldOf(language, DESCRIPTION);
+            this.title = (title != null ? title : empty).cursor();
+            this.description = (description != null ? description : empty).cursor();
+            matches = (title != null ? title.size() : 0) + (description != null ? description.size() : 0);
+            // one idf for the term across both fields, so the title weight is not undone by the term being rarer in
+            // descriptions; documents with the term in both fields are counted twice, which only matters for ranking
+            idf = idf(matches);
+        }
+
+        int next() {
+            if (titleDocument <= current)
+                titleDocument = title.next();
+            if (descriptionDocument <= current)
+                descriptionDocument = description.next();
+
+            return current = Math.min(titleDocument, descriptionDocument);
+        }
+
+        int advance(int target) {
+            if (titleDocument < target)
+                titleDocument = title.advance(target);
+            if (descriptionDocument < target)
+                descriptionDocument = description.advance(target);
+
+            return current = Math.min(titleDocument, descriptionDocument);
+        }
+
+        float score() {
+            return termScore(titleField, current, titleDocument == current ? title.frequency() : 0, idf)
+                    + termScore(descriptionField, current, descriptionDocument == current ? description.frequency() : 0, idf);
+        }
+    }
+
+    /**
+     * The documents that contain every term of a query in one language.
+     */
+    private static final class LanguageMatches {
+        private final TermCursor[] terms;
+        private int current = -1;
+
+        LanguageMatches(TermCursor[] terms) {
+            this.terms = terms;
+        }
+
+        void next() {
+            var document = terms[0].next();
+            candidates:
+            while (document != PostingList.NO_MORE_DOCUMENTS) {
+                for (var i = 1; i < terms.length; ++i) {
+                    final var other = terms[i].advance(document);
+                    if (other != document) {
+                        document = terms[0].advance(other);
+                        continue candidates;
+                    }
+                }
+                break;
+            }
+
+            current = document;
+        }
+
+        float score() {
+            var score = 0.0f;
+            for (var term : terms)
+                score += term.score();
+
+            return score;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package assetmetadataregistry;
+
+import java.util.*;
+
+/**
+ * Told whenever assets' entries in an index are replaced or removed, so copies derived from the index can be dropped.
+ * Changes made together, such as a batch from a change feed, are told in one call.
+ */
+public interface AssetMetadataIndexListener {
+    void indexChanged(List<String> assetIds);
+}
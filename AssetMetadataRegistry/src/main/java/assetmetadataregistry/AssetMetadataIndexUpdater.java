@@ -0,0 +1,71 @@
+package assetmetadataregistry;
+
+import org.hibernate.*;
+
+import java.util.*;
+
+/**
+ * Keeps an index current by applying changes from a feed in small batches. Several changes to one asset in the
+ * same batch cost a single read. A batch leaves the feed only once it has been applied, so a failed batch is tried
+ * again on the next run.
+ */
+public class AssetMetadataIndexUpdater implements Runnable {
+    private final AssetMetadataChangeFeed changes;
+    private final AssetMetadataIndex index;
+    private final SessionFactory sessionFactory;
+    private final int batchSize;
+
+    public AssetMetadataIndexUpdater(AssetMetadataChangeFeed changes, AssetMetadataIndex index, SessionFactory sessionFactory, int batchSize) {
+        this.changes = changes;
+        this.index = index;
+        this.sessionFactory = sessionFactory;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies batches until the feed is empty and returns the number of assets that were reindexed.
+     */
+    public int applyPending() {
+        var applied = 0;
+        for (var batch = changes.peek(batchSize); !batch.isEmpty(); batch = changes.peek(batchSize)) {
+            applied += apply(batch);
+            changes.acknowledge(batch);
+        }
+
+        return applied;
+    }
+
+    @Override
+    public void run() {
+        // a scheduled task stops being scheduled once it throws, and one bad batch should not stop updates for good
+        try {
+            applyPending();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private int apply(List<AssetMetadataChange> batch) {
+        final var assetIds = new ArrayList<String>();
+        final var seen = new HashSet<String>();
+        for (var change : batch)
+            if (seen.add(change.getAssetId()))
+                assetIds.add(change.getAssetId());
+
+        final var changed = new ArrayList<AssetMetadataRecord>();
+        final var removed = new ArrayList<String>();
+        try (final var session = sessionFactory.openSession()) {
+            final var records = session.byMultipleIds(AssetMetadataRecord.class).multiLoad(assetIds);
+            for (var i = 0; i < assetIds.size(); ++i) {
+                if (records.get(i) == null)
+                    removed.add(assetIds.get(i));
+                else
+                    changed.add(records.get(i));
+            }
+        }
+        // the whole batch is one change to the index's listeners, however many assets it touches
+        index.update(changed, removed);
+
+        return assetIds.size();
+    }
+}
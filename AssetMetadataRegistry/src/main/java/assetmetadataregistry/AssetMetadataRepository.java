@@ -3,6 +3,7 @@ package assetmetadataregistry;
 import org.hibernate.*;
 
 import java.util.*;
+import java.util.function.*;
 
 public interface AssetMetadataRepository {
     void setTitles(Session session, String assetId, String newEnglishTitle, String newGermanTitle, String newSpanishTitle, String newFrenchTitle);
@@ -12,4 +13,16 @@ public interface AssetMetadataRepository {
     void setThumbs(Session session,String assetId, String thumb64, String thumb128, String thumb256, String thumb512);
 
     List<AssetMetadataRecord> search(Session session, String searchTerm);
+
+    /**
+     * Finds at most limit records, ordered by id, skipping the first offset. A limit of zero finds nothing without
+     * asking the database.
+     */
+    List<AssetMetadataRecord> search(Session session, String searchTerm, int offset, int limit);
+
+    /**
+     * Hands the same page of results as {@link #search(Session, String, int, int)} to the consumer one record at a
+     * time, without holding the whole page in memory.
+     */
+    void search(Session session, String searchTerm, int offset, int limit, Consumer<AssetMetadataRecord> found);
 }
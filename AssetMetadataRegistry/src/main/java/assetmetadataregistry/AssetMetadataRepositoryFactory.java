@@ -6,4 +6,8 @@ public class AssetMetadataRepositoryFactory {
     public static AssetMetadataRepositoryImplementation createAssetMetadataRepository() {
         return new AssetMetadataRepositoryImplementation();
     }
+
+    public static AssetMetadataRepository createIndexedAssetMetadataRepository(AssetMetadataIndex index) {
+        return new IndexedAssetMetadataRepository(createAssetMetadataRepository(), index);
+    }
 }
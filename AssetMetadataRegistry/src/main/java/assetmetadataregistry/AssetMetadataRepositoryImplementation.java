@@ -1,8 +1,10 @@
 package assetmetadataregistry;
 
 import org.hibernate.*;
+import org.hibernate.query.Query;
 
 import java.util.*;
+import java.util.function.*;
 
 class AssetMetadataRepositoryImplementation implements AssetMetadataRepository {
     @Override
@@ -50,6 +52,50 @@ class AssetMetadataRepositoryImplementation implements AssetMetadataRepository {
 
     @Override
     public List<AssetMetadataRecord> search(Session session, String searchTerm) {
+        return createSearchQuery(session, searchTerm).list();
+    }
+
+    @Override
+    public List<AssetMetadataRecord> search(Session session, String searchTerm, int offset, int limit) {
+        // hibernate takes a maximum of zero as no maximum at all, which would scan every matching row
+        if (isEmptyPage(offset, limit))
+            return new ArrayList<>();
+
+        final var query = createSearchQuery(session, searchTerm);
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+
+        return query.list();
+    }
+
+    @Override
+    public void search(Session session, String searchTerm, int offset, int limit, Consumer<AssetMetadataRecord> found) {
+        if (isEmptyPage(offset, limit))
+            return;
+
+        final var query = createSearchQuery(session, searchTerm);
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+        query.setReadOnly(true);
+        query.setFetchSize(100);
+
+        try (final var records = query.stream()) {
+            records.forEach(record -> {
+                found.accept(record);
+                session.evict(record);
+            });
+        }
+    }
+
+    private static boolean isEmptyPage(int offset, int limit) {
+        if (offset < 0 || limit < 0)
+            throw new IllegalArgumentException("offset and limit must not be negative");
+
+        return limit == 0;
+    }
+
+    private Query<AssetMetadataRecord> createSearchQuery(Session session, String searchTerm) {
+        // ordering by id keeps pages stable between requests
         final var query = session.createQuery("select results " +
                 "from assets_metadata results " +
                 "where titleEnglish like concat('%', :searchTerm, '%') " +
@@ -59,10 +105,11 @@ class AssetMetadataRepositoryImplementation implements AssetMetadataRepository {
                 "or descriptionEnglish like concat('%', :searchTerm, '%') " +
                 "or descriptionFrench like concat('%', :searchTerm, '%') " +
                 "or descriptionGerman like concat('%', :searchTerm, '%') " +
-                "or descriptionSpanish like concat('%', :searchTerm, '%')", AssetMetadataRecord.class);
+                "or descriptionSpanish like concat('%', :searchTerm, '%') " +
+                "order by results.id", AssetMetadataRecord.class);
         query.setParameter("searchTerm", searchTerm);
 
-        return query.list();
+        return query;
     }
 
     private AssetMetadataRecord getAssetById(Session session, String assetId) {
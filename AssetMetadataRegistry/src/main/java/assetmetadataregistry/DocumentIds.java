@@ -0,0 +1,171 @@
+package assetmetadataregistry;
+
+import java.util.*;
+
+/**
+ * Hands out dense int document ids for asset ids so the index can store ints instead of UUID strings.
+ *
+ * Every (re)indexing of an asset gets a fresh, higher id and retires the previous one, which keeps posting lists
+ * append-only. Retired ids are skipped when reading and reclaimed by {@link #compact()}.
+ */
+final class DocumentIds {
+    private static final int FREE = 0;
+    private static final int DELETED = -1;
+
+    private String[] assets = new String[16];
+    private int next;
+    private final BitSet live = new BitSet();
+    private int liveCount;
+
+    // open addressing from asset id to document id + 1, so there is no boxed entry per asset
+    private int[] slots = new int[32];
+    private int usedSlots;
+
+    /**
+     * Gives the asset a new document id, retiring the one it had before.
+     */
+    int assign(String assetId) {
+        final var slot = slotOf(assetId);
+        if (slots[slot] > 0) {
+            retireDocument(slots[slot] - 1);
+        } else {
+            if (slots[slot] == FREE)
+                ++usedSlots;
+        }
+
+        if (next == assets.length)
+            assets = Arrays.copyOf(assets, assets.length * 2);
+        final var document = next++;
+        assets[document] = assetId;
+        live.set(document);
+        ++liveCount;
+        slots[slot] = document + 1;
+
+        if (usedSlots * 4 > slots.length * 3)
+            rehash(slots.length * 2);
+
+        return document;
+    }
+
+    /**
+     * Forgets the asset and returns the document id it had, or -1 if it had none.
+     */
+    int retire(String assetId) {
+        final var slot = slotOf(assetId);
+        if (slots[slot] <= 0)
+            return -1;
+
+        final var document = slots[slot] - 1;
+        retireDocument(document);
+        slots[slot] = DELETED;
+
+        return document;
+    }
+
+    /**
+     * The asset's current document id, or -1 if it has none.
+     */
+    int find(String assetId) {
+        final var slot = slotOf(assetId);
+
+        return slots[slot] > 0 ? slots[slot] - 1 : -1;
+    }
+
+    String assetOf(int document) {
+        return assets[document];
+    }
+
+    boolean isLive(int document) {
+        return live.get(document);
+    }
+
+    /**
+     * The number of assets that currently have a document id.
+     */
+    int size() {
+        return liveCount;
+    }
+
+    /**
+     * The number of document ids handed out since the last compaction, live or retired.
+     */
+    int capacity() {
+        return next;
+    }
+
+    /**
+     * Renumbers the live documents densely from zero, keeping their order. Returns the old-to-new map, in which
+     * retired documents map to -1.
+     */
+    int[] compact() {
+        final var newIds = new int[next];
+        final var compacted = new String[Math.max(16, liveCount)];
+        var count = 0;
+        for (var document = 0; document < next; ++document) {
+            if (live.get(document)) {
+                compacted[count] = assets[document];
+                newIds[document] = count++;
+            } else {
+                newIds[document] = -1;
+            }
+        }
+
+        assets = compacted;
+        next = count;
+        live.clear();
+        live.set(0, count);
+        rehash(tableSizeFor(count));
+
+        return newIds;
+    }
+
+    private void retireDocument(int document) {
+        live.clear(document);
+        assets[document] = null;
+        --liveCount;
+    }
+
+    private int slotOf(String assetId) {
+        final var mask = slots.length - 1;
+        var firstDeleted = -1;
+        for (var slot = spread(assetId.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            final var value = slots[slot];
+            if (value == FREE)
+                return firstDeleted >= 0 ? firstDeleted : slot;
+            if (value == DELETED) {
+                if (firstDeleted < 0)
+                    firstDeleted = slot;
+            } else if (assets[value - 1].equals(assetId)) {
+                return slot;
+            }
+        }
+    }
+
+    private void rehash(int size) {
+        slots = new int[size];
+        usedSlots = 0;
+        final var mask = size - 1;
+        for (var document = 0; document < next; ++document) {
+            if (!live.get(document))
+                continue;
+
+            var slot = spread(assets[document].hashCode()) & mask;
+            while (slots[slot] != FREE)
+                slot = (slot + 1) & mask;
+            slots[slot] = document + 1;
+            ++usedSlots;
+        }
+    }
+
+    private static int tableSizeFor(int entries) {
+        var size = 32;
+        while (entries * 4 > size * 3 / 2)
+            size *= 2;
+
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,35 @@
+package assetmetadataregistry;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A change feed for when the publisher and the consumer live in the same process. It expects a single consumer.
+ */
+public class InProcessAssetMetadataChangeFeed implements AssetMetadataChangeFeed {
+    private final BlockingQueue<AssetMetadataChange> changes = new LinkedBlockingQueue<>();
+
+    @Override
+    public void publish(AssetMetadataChange change) {
+        changes.add(change);
+    }
+
+    @Override
+    public List<AssetMetadataChange> peek(int maximum) {
+        final var result = new ArrayList<AssetMetadataChange>();
+        for (var change : changes) {
+            if (result.size() == maximum)
+                break;
+            result.add(change);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void acknowledge(List<AssetMetadataChange> acknowledged) {
+        // peeked changes are still at the head of the queue, so each removal finds its change first
+        for (var change : acknowledged)
+            changes.remove(change);
+    }
+}
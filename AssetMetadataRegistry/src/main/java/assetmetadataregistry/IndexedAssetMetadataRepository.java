@@ -0,0 +1,96 @@
+package assetmetadataregistry;
+
+import org.hibernate.*;
+
+import javax.transaction.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Answers searches from an in-memory index instead of the database, best match first, and keeps that index current as
+ * titles and descriptions are written through it.
+ */
+class IndexedAssetMetadataRepository implements AssetMetadataRepository {
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    private final AssetMetadataRepository records;
+    private final AssetMetadataIndex index;
+
+    IndexedAssetMetadataRepository(AssetMetadataRepository records, AssetMetadataIndex index) {
+        this.records = records;
+        this.index = index;
+    }
+
+    @Override
+    public void setTitles(Session session, String assetId, String newEnglishTitle, String newGermanTitle, String newSpanishTitle, String newFrenchTitle) {
+        records.setTitles(session, assetId, newEnglishTitle, newGermanTitle, newSpanishTitle, newFrenchTitle);
+        reindexAfterCommit(session, assetId);
+    }
+
+    @Override
+    public void setDescriptions(Session session, String assetId, String newEnglishDescription, String newGermanDescription, String newSpanishDescription, String newFrenchDescription) {
+        records.setDescriptions(session, assetId, newEnglishDescription, newGermanDescription, newSpanishDescription, newFrenchDescription);
+        reindexAfterCommit(session, assetId);
+    }
+
+    @Override
+    public void setThumbs(Session session, String assetId, String thumb64, String thumb128, String thumb256, String thumb512) {
+        records.setThumbs(session, assetId, thumb64, thumb128, thumb256, thumb512);
+    }
+
+    @Override
+    public List<AssetMetadataRecord> search(Session session, String searchTerm) {
+        return load(session, index.find(searchTerm));
+    }
+
+    @Override
+    public List<AssetMetadataRecord> search(Session session, String searchTerm, int offset, int limit) {
+        return load(session, index.find(searchTerm, offset, limit));
+    }
+
+    @Override
+    public void search(Session session, String searchTerm, int offset, int limit, Consumer<AssetMetadataRecord> found) {
+        // the ids are small; the records are not, so only one batch of them is in the session at a time
+        final var ids = index.find(searchTerm, offset, limit);
+        for (var start = 0; start < ids.size(); start += LOAD_BATCH_SIZE) {
+            for (var record : load(session, ids.subList(start, Math.min(start + LOAD_BATCH_SIZE, ids.size())))) {
+                found.accept(record);
+                session.evict(record);
+            }
+        }
+    }
+
+    private List<AssetMetadataRecord> load(Session session, List<String> ids) {
+        final var result = new ArrayList<AssetMetadataRecord>(ids.size());
+        for (var record : session.byMultipleIds(AssetMetadataRecord.class).multiLoad(ids))
+            if (record != null)
+                result.add(record);
+
+        return result;
+    }
+
+    private void reindexAfterCommit(Session session, String assetId) {
+        final var record = session.get(AssetMetadataRecord.class, assetId);
+        if (record == null)
+            return;
+
+        // the index must never show text that was rolled back, so wait for the transaction to finish when there is one
+        final var transaction = session.getTransaction();
+        if (!transaction.isActive()) {
+            index.index(record);
+            return;
+        }
+
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED)
+                    index.index(record);
+            }
+        });
+    }
+}
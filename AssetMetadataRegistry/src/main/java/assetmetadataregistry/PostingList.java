@@ -0,0 +1,118 @@
+package assetmetadataregistry;
+
+import java.util.*;
+
+/**
+ * An ascending list of document ids with how often the term occurs in each, stored as variable-length gaps and
+ * counts so that a frequent term costs about two bytes per document instead of an object per document. Ids can only
+ * be appended in increasing order.
+ */
+final class PostingList {
+    static final int NO_MORE_DOCUMENTS = Integer.MAX_VALUE;
+
+    private byte[] bytes = new byte[4];
+    private int length;
+    private int count;
+    private int last = -1;
+
+    void add(int documentId, int frequency) {
+        if (documentId <= last)
+            throw new IllegalArgumentException("document " + documentId + " must come after " + last);
+        if (frequency < 1)
+            throw new IllegalArgumentException("frequency must be positive but was " + frequency);
+
+        if (length + 10 > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(length + 10, bytes.length * 2));
+        write(documentId - last - 1);
+        write(frequency - 1);
+
+        last = documentId;
+        ++count;
+    }
+
+    /**
+     * The number of documents in the list, including any that have since been retired.
+     */
+    int size() {
+        return count;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Builds a copy with every document renumbered through the map. Documents mapped to a negative id are dropped.
+     * The map must preserve order.
+     */
+    PostingList remap(int[] newIds) {
+        final var result = new PostingList();
+        final var cursor = cursor();
+        for (var document = cursor.next(); document != NO_MORE_DOCUMENTS; document = cursor.next())
+            if (newIds[document] >= 0)
+                result.add(newIds[document], cursor.frequency());
+
+        result.bytes = Arrays.copyOf(result.bytes, result.length);
+        return result;
+    }
+
+    private void write(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /**
+     * Walks a posting list front to back. A cursor sees the list as it was when the cursor was made.
+     */
+    final class Cursor {
+        private final byte[] source = bytes;
+        private final int end = length;
+        private int position;
+        private int current = -1;
+        private int frequency;
+
+        int next() {
+            if (position >= end)
+                return current = NO_MORE_DOCUMENTS;
+
+            current += read() + 1;
+            frequency = read() + 1;
+
+            return current;
+        }
+
+        /**
+         * How often the term occurs in the current document.
+         */
+        int frequency() {
+            return frequency;
+        }
+
+        /**
+         * Moves to the first document at or after the target and returns it.
+         */
+        int advance(int target) {
+            while (current < target)
+                next();
+
+            return current;
+        }
+
+        private int read() {
+            var value = 0;
+            for (var shift = 0; ; shift += 7) {
+                final var b = source[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0)
+                    return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package assetmetadataregistry;
+
+import java.text.*;
+import java.util.*;
+import java.util.regex.*;
+
+/**
+ * The languages we keep asset text in. Each one knows how to break its own text into searchable terms.
+ */
+public enum SearchLanguage {
+    English(Locale.ENGLISH, "s",
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or", "the", "to", "with"),
+    German(Locale.GERMAN, "en",
+            "als", "am", "auf", "aus", "bei", "das", "dem", "den", "der", "des", "die", "ein", "eine", "einer", "im", "in", "ist", "mit", "und", "von", "zu"),
+    Spanish(new Locale("es"), "s",
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "los", "o", "para", "por", "un", "una", "y"),
+    French(Locale.FRENCH, "s",
+            "a", "au", "aux", "avec", "dans", "de", "des", "du", "en", "et", "l", "la", "le", "les", "ou", "par", "pour", "sur", "un", "une");
+
+    private static final Pattern separators = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern diacritics = Pattern.compile("\\p{M}+");
+
+    private final Locale locale;
+    private final String pluralSuffix;
+    private final Set<String> stopWords;
+
+    SearchLanguage(Locale locale, String pluralSuffix, String... stopWords) {
+        this.locale = locale;
+        this.pluralSuffix = pluralSuffix;
+        this.stopWords = Set.of(stopWords);
+    }
+
+    /**
+     * Breaks text into normalized terms: case and accents are folded, stop words dropped and simple plurals reduced.
+     * The same text always produces the same terms, so documents and queries can be compared term by term.
+     */
+    public List<String> analyze(String text) {
+        final var result = new ArrayList<String>();
+        if (text == null)
+            return result;
+
+        final var folded = diacritics.matcher(Normalizer.normalize(text.toLowerCase(locale), Normalizer.Form.NFD)).replaceAll("");
+        for (var token : separators.split(folded)) {
+            if (token.isEmpty() || stopWords.contains(token))
+                continue;
+
+            result.add(stem(token));
+        }
+
+        return result;
+    }
+
+    private String stem(String token) {
+        // only strip the suffix when enough of the word is left to stay distinctive
+        if (token.length() > pluralSuffix.length() + 2 && token.endsWith(pluralSuffix) && !token.endsWith("ss"))
+            return token.substring(0, token.length() - pluralSuffix.length());
+
+        return token;
+    }
+}
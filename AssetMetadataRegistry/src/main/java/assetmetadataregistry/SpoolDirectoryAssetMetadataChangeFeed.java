@@ -0,0 +1,119 @@
+package assetmetadataregistry;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+/**
+ * A change feed kept as one small file per change in a local directory, so that separate services on the same host
+ * can share it. Files are named so that sorting them by name gives publication order.
+ */
+public class SpoolDirectoryAssetMetadataChangeFeed implements AssetMetadataChangeFeed {
+    private static final String SUFFIX = ".change";
+    private static final String REJECTED_SUFFIX = ".rejected";
+
+    private final Path directory;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<AssetMetadataChange, Path> peeked = new IdentityHashMap<>();
+
+    public SpoolDirectoryAssetMetadataChangeFeed(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void publish(AssetMetadataChange change) {
+        final var name = String.format("%013d-%09d-%s", System.currentTimeMillis(), sequence.getAndIncrement(), UUID.randomUUID());
+        try {
+            // write under a name consumers ignore, then rename, so a consumer never reads half a change
+            final var pending = Files.writeString(directory.resolve("." + name), change.toString(), StandardCharsets.UTF_8);
+            Files.move(pending, directory.resolve(name + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized List<AssetMetadataChange> peek(int maximum) {
+        peeked.clear();
+        final var result = new ArrayList<AssetMetadataChange>();
+        for (var file : oldest(maximum)) {
+            final String text;
+            try {
+                text = Files.readString(file, StandardCharsets.UTF_8);
+            } catch (NoSuchFileException e) {
+                // another consumer acknowledged the change between listing and reading it
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            final var change = parse(text);
+            if (change == null) {
+                reject(file);
+                continue;
+            }
+
+            peeked.put(change, file);
+            result.add(change);
+        }
+
+        return result;
+    }
+
+    @Override
+    public synchronized void acknowledge(List<AssetMetadataChange> changes) {
+        for (var change : changes) {
+            final var file = peeked.remove(change);
+            if (file == null)
+                continue;
+
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static AssetMetadataChange parse(String text) {
+        final var parts = text.split(" ", 2);
+        if (parts.length < 2)
+            return null;
+
+        try {
+            return new AssetMetadataChange(AssetMetadataChangeKind.valueOf(parts[0]), parts[1]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void reject(Path file) {
+        // set a change nobody can read aside, where it no longer holds up the changes behind it
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + REJECTED_SUFFIX));
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> oldest(int maximum) {
+        try (final var files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX) && !file.getFileName().toString().startsWith("."))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .limit(maximum)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
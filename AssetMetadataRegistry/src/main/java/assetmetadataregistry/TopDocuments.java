@@ -0,0 +1,105 @@
+package assetmetadataregistry;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Keeps the best-scoring documents offered to it, up to a fixed number. The kept documents sit in a min-heap of
+ * primitives with the worst at the root, so each offer costs at most a log-time replacement and nothing beyond the
+ * requested number is ever held or sorted. Equal scores are ordered by asset id so pages are stable.
+ */
+final class TopDocuments {
+    private final int capacity;
+    private final IntFunction<String> assetOf;
+    private float[] scores = new float[16];
+    private int[] documents = new int[16];
+    private int size;
+
+    TopDocuments(int capacity, IntFunction<String> assetOf) {
+        this.capacity = capacity;
+        this.assetOf = assetOf;
+    }
+
+    void offer(int document, float score) {
+        if (size < capacity) {
+            if (size == documents.length) {
+                final var grown = (int) Math.min(capacity, documents.length * 2L);
+                scores = Arrays.copyOf(scores, grown);
+                documents = Arrays.copyOf(documents, grown);
+            }
+            scores[size] = score;
+            documents[size] = document;
+            siftUp(size++);
+        } else if (size > 0 && isWorse(scores[0], documents[0], score, document)) {
+            scores[0] = score;
+            documents[0] = document;
+            siftDown(0);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Empties the collector and returns what it kept, best first.
+     */
+    int[] drainBestFirst() {
+        final var result = new int[size];
+        for (var i = result.length - 1; i >= 0; --i) {
+            result[i] = documents[0];
+            --size;
+            scores[0] = scores[size];
+            documents[0] = documents[size];
+            siftDown(0);
+        }
+
+        return result;
+    }
+
+    private boolean isWorse(float score, int document, float otherScore, int otherDocument) {
+        if (score != otherScore)
+            return score < otherScore;
+
+        return assetOf.apply(document).compareTo(assetOf.apply(otherDocument)) > 0;
+    }
+
+    private void siftUp(int child) {
+        while (child > 0) {
+            final var parent = (child - 1) / 2;
+            if (!isWorse(scores[child], documents[child], scores[parent], documents[parent]))
+                return;
+
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int parent) {
+        while (true) {
+            final var left = parent * 2 + 1;
+            if (left >= size)
+                return;
+
+            var worst = left;
+            final var right = left + 1;
+            if (right < size && isWorse(scores[right], documents[right], scores[left], documents[left]))
+                worst = right;
+            if (!isWorse(scores[worst], documents[worst], scores[parent], documents[parent]))
+                return;
+
+            swap(parent, worst);
+            parent = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        final var score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+
+        final var document = documents[i];
+        documents[i] = documents[j];
+        documents[j] = document;
+    }
+}
@@ -0,0 +1,139 @@
+package assetmetadataregistry;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Compares the heap taken and the query time of the index against a plain map of term to asset id set over a large
+ * synthetic catalog. These need a big heap and take minutes, so they only run when asked for:
+ * <pre>mvn test -Dassetmetadata.loadtests=true -DargLine=-Xmx8g [-Dassetmetadata.loadtests.assets=5000000]</pre>
+ */
+@EnabledIfSystemProperty(named = "assetmetadata.loadtests", matches = "true")
+public class AssetMetadataIndexFootprintTests {
+    private static final int assets = Integer.getInteger("assetmetadata.loadtests.assets", 5_000_000);
+    private static final int queries = Integer.getInteger("assetmetadata.loadtests.queries", 200);
+    private static final int vocabularySize = 50_000;
+
+    private static String[] ids;
+
+    @BeforeAll
+    public static void setUpIds() {
+        ids = new String[assets];
+        for (var i = 0; i < assets; ++i)
+            ids[i] = UUID.randomUUID().toString();
+    }
+
+    @Test
+    public void indexFootprint() {
+        final var before = usedHeap();
+        final var index = new AssetMetadataIndex();
+        final var record = new AssetMetadataRecord();
+        for (var i = 0; i < assets; ++i) {
+            describe(record, i);
+            index.index(record);
+        }
+
+        report("index", before, index::find);
+    }
+
+    @Test
+    public void naiveFootprint() {
+        final var before = usedHeap();
+        final var naive = new HashMap<String, Set<String>>();
+        final var record = new AssetMetadataRecord();
+        for (var i = 0; i < assets; ++i) {
+            describe(record, i);
+            for (var language : SearchLanguage.values())
+                for (var term : language.analyze(text(record, language)))
+                    naive.computeIfAbsent(language + ":" + term, ignored -> new HashSet<>()).add(record.getId());
+        }
+
+        report("HashMap<String, Set<String>>", before, query -> findNaively(naive, query));
+    }
+
+    private static void report(String name, long before, Function<String, List<String>> find) {
+        final var heap = usedHeap() - before;
+
+        final var random = new Random(1234);
+        final var latencies = new long[queries];
+        var found = 0L;
+        for (var i = 0; i < queries; ++i) {
+            final var query = word(random.nextInt(vocabularySize)) + " " + word(random.nextInt(100));
+            final var start = System.nanoTime();
+            found += find.apply(query).size();
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%s over %,d assets: heap=%,dMB p50=%.2fms p99=%.2fms (%,d hits)%n",
+                name,
+                assets,
+                heap / (1024 * 1024),
+                latencies[latencies.length / 2] / 1e6,
+                latencies[Math.min(latencies.length - 1, (int) Math.ceil(0.99 * latencies.length) - 1)] / 1e6,
+                found);
+    }
+
+    private static List<String> findNaively(Map<String, Set<String>> naive, String query) {
+        final var found = new HashSet<String>();
+        for (var language : SearchLanguage.values()) {
+            final var terms = language.analyze(query);
+            if (terms.isEmpty())
+                continue;
+
+            Set<String> matches = null;
+            for (var term : terms) {
+                final var postings = naive.getOrDefault(language + ":" + term, Set.of());
+                if (matches == null)
+                    matches = new HashSet<>(postings);
+                else
+                    matches.retainAll(postings);
+            }
+            found.addAll(matches);
+        }
+
+        final var result = new ArrayList<>(found);
+        Collections.sort(result);
+
+        return result;
+    }
+
+    private static void describe(AssetMetadataRecord record, int asset) {
+        // a skewed vocabulary, so some terms are common and most are rare, like real titles
+        final var random = new Random(asset);
+        record.setId(ids[asset]);
+        record.setTitleEnglish(word(skewed(random)) + " " + word(random.nextInt(100)));
+        record.setDescriptionEnglish(word(skewed(random)) + " " + word(skewed(random)) + " " + word(skewed(random)));
+        record.setTitleGerman(word(skewed(random)) + " " + word(skewed(random)));
+    }
+
+    private static int skewed(Random random) {
+        return (int) (vocabularySize * Math.pow(random.nextDouble(), 3));
+    }
+
+    private static String text(AssetMetadataRecord record, SearchLanguage language) {
+        switch (language) {
+            case English:
+                return record.getTitleEnglish() + " " + record.getDescriptionEnglish();
+            case German:
+                return record.getTitleGerman();
+            default:
+                return null;
+        }
+    }
+
+    private static String word(int index) {
+        return "term" + index + "x";
+    }
+
+    private static long usedHeap() {
+        final var runtime = Runtime.getRuntime();
+        for (var i = 0; i < 3; ++i)
+            System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
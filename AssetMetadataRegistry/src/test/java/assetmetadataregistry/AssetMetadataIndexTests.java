@@ -0,0 +1,208 @@
+package assetmetadataregistry;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+public class AssetMetadataIndexTests {
+    private AssetMetadataIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new AssetMetadataIndex();
+    }
+
+    @Test
+    public void findsAssetByWordInEnglishTitle() {
+        givenAsset("a", record -> record.setTitleEnglish("Red balls on grass"));
+
+        thenFinds("balls", "a");
+    }
+
+    @Test
+    public void findsAssetByWordInDescription() {
+        givenAsset("a", record -> record.setDescriptionFrench("Une pomme rouge sur la table"));
+
+        thenFinds("pomme", "a");
+    }
+
+    @Test
+    public void allQueryTermsMustMatch() {
+        givenAsset("a", record -> record.setTitleEnglish("red ball"));
+        givenAsset("b", record -> record.setTitleEnglish("blue ball"));
+
+        thenFinds("red ball", "a");
+    }
+
+    @Test
+    public void caseAndAccentsAreIgnored() {
+        givenAsset("a", record -> record.setTitleGerman("Sch\u00f6ne Br\u00fccke"));
+
+        thenFinds("BRUCKE", "a");
+    }
+
+    @Test
+    public void pluralsMatchSingulars() {
+        givenAsset("a", record -> record.setTitleSpanish("Las pelotas"));
+
+        thenFinds("pelota", "a");
+    }
+
+    @Test
+    public void stopWordsDoNotMatchEverything() {
+        givenAsset("a", record -> record.setTitleEnglish("the ball"));
+        givenAsset("b", record -> record.setTitleEnglish("the bat"));
+
+        thenFinds("the ball", "a");
+    }
+
+    @Test
+    public void resultsAreOrderedById() {
+        givenAsset("c", record -> record.setTitleEnglish("ball"));
+        givenAsset("a", record -> record.setTitleEnglish("ball"));
+        givenAsset("b", record -> record.setTitleEnglish("ball"));
+
+        thenFinds("ball", "a", "b", "c");
+    }
+
+    @Test
+    public void titleMatchesRankAboveDescriptionMatches() {
+        givenAsset("a", record -> record.setDescriptionEnglish("a red ball"));
+        givenAsset("b", record -> record.setTitleEnglish("a red ball"));
+
+        thenFinds("ball", "b", "a");
+    }
+
+    @Test
+    public void moreOccurrencesRankHigher() {
+        givenAsset("a", record -> record.setDescriptionEnglish("ball game played on grass"));
+        givenAsset("b", record -> record.setDescriptionEnglish("ball game with a ball on grass"));
+
+        thenFinds("ball", "b", "a");
+    }
+
+    @Test
+    public void shorterTextRanksHigherForTheSameMatch() {
+        givenAsset("a", record -> record.setTitleEnglish("ball on the grass next to a tree"));
+        givenAsset("b", record -> record.setTitleEnglish("ball"));
+
+        thenFinds("ball", "b", "a");
+    }
+
+    @Test
+    public void rareTermsOutweighCommonOnes() {
+        givenAsset("a", record -> record.setTitleEnglish("red ball"));
+        givenAsset("b", record -> record.setTitleEnglish("red ball"));
+        givenAsset("c", record -> record.setTitleEnglish("red kite"));
+        givenAsset("d", record -> record.setDescriptionEnglish("red"));
+
+        thenFinds("red kite", "c");
+        assertThat(index.find("red", 0, 1), is(equalTo(List.of("a"))));
+    }
+
+    @Test
+    public void pagesAreTakenFromTheRanking() {
+        givenAsset("a", record -> record.setDescriptionEnglish("ball"));
+        givenAsset("b", record -> record.setTitleEnglish("ball"));
+        givenAsset("c", record -> record.setTitleEnglish("ball"));
+
+        assertThat(index.find("ball", 1, 1), is(equalTo(List.of("c"))));
+        assertThat(index.find("ball", 2, 5), is(equalTo(List.of("a"))));
+        assertThat(index.find("ball", 3, 5), is(empty()));
+    }
+
+    @Test
+    public void assetsMatchingInSeveralLanguagesAreFoundOnce() {
+        givenAsset("a", record -> {
+            record.setTitleEnglish("banana");
+            record.setTitleFrench("banane");
+            record.setTitleSpanish("banana");
+        });
+
+        thenFinds("banana", "a");
+    }
+
+    @Test
+    public void reindexingReplacesOldText() {
+        final var record = givenAsset("a", r -> r.setTitleEnglish("old title"));
+        record.setTitleEnglish("new title");
+
+        index.index(record);
+
+        thenFinds("old");
+        thenFinds("new", "a");
+    }
+
+    @Test
+    public void removedAssetsAreNotFound() {
+        givenAsset("a", record -> record.setTitleEnglish("ball"));
+
+        index.remove("a");
+
+        thenFinds("ball");
+        assertThat(index.size(), is(0));
+    }
+
+    @Test
+    public void compactionKeepsWhatCanBeFound() {
+        final var record = givenAsset("a", r -> r.setTitleEnglish("old title"));
+        givenAsset("b", r -> r.setTitleEnglish("other title"));
+        record.setTitleEnglish("new title");
+        index.index(record);
+
+        index.compact();
+
+        thenFinds("title", "a", "b");
+        thenFinds("old");
+        thenFinds("new", "a");
+    }
+
+    @Test
+    public void listenersHearAboutIndexedAndRemovedAssets() {
+        final var changed = new ArrayList<String>();
+        index.addListener(changed::addAll);
+
+        givenAsset("a", record -> record.setTitleEnglish("ball"));
+        index.remove("a");
+
+        assertThat(changed, is(equalTo(List.of("a", "a"))));
+    }
+
+    @Test
+    public void listenersHearAboutAnUpdateOnce() {
+        final var calls = new ArrayList<List<String>>();
+        index.addListener(calls::add);
+        final var record = new AssetMetadataRecord();
+        record.setId("a");
+        record.setTitleEnglish("ball");
+
+        index.update(List.of(record), List.of("b"));
+
+        assertThat(calls, is(equalTo(List.of(List.of("a", "b")))));
+        thenFinds("ball", "a");
+    }
+
+    @Test
+    public void unknownTermsFindNothing() {
+        givenAsset("a", record -> record.setTitleEnglish("ball"));
+
+        thenFinds("ball bat");
+    }
+
+    private AssetMetadataRecord givenAsset(String id, Consumer<AssetMetadataRecord> text) {
+        final var record = new AssetMetadataRecord();
+        record.setId(id);
+        text.accept(record);
+        index.index(record);
+
+        return record;
+    }
+
+    private void thenFinds(String query, String... expectedIds) {
+        assertThat(index.find(query), is(equalTo(List.of(expectedIds))));
+    }
+}
@@ -0,0 +1,162 @@
+package assetmetadataregistry;
+
+import org.hibernate.*;
+import org.hibernate.boot.*;
+import org.hibernate.boot.registry.*;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.*;
+import java.sql.*;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+public class AssetMetadataIndexUpdaterTests {
+    private AssetMetadataChangeFeed changes;
+    private AssetMetadataIndex index;
+    private AssetMetadataIndexUpdater updater;
+    private String assetId;
+
+    private Connection connection;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        assetId = UUID.randomUUID().toString();
+        final var database = "jdbc:hsqldb:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        connection = DriverManager.getConnection(database, "SA", "");
+
+        final var registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", database)
+                .applySetting("hibernate.connection.user", "SA")
+                .applySetting("hibernate.connection.password", "")
+                .applySetting("hibernate.hbm2ddl.auto", "create")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(AssetMetadataRecord.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        changes = new InProcessAssetMetadataChangeFeed();
+        index = new AssetMetadataIndex();
+        updater = new AssetMetadataIndexUpdater(changes, index, sessionFactory, 2);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void addedAssetsBecomeSearchable() {
+        givenTitleInDatabase(assetId, "striped ball");
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, assetId));
+
+        updater.applyPending();
+
+        assertThat(index.find("ball"), is(equalTo(List.of(assetId))));
+    }
+
+    @Test
+    public void changedMetadataReplacesIndexedText() {
+        givenTitleInDatabase(assetId, "striped ball");
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, assetId));
+        updater.applyPending();
+
+        givenTitleInDatabase(assetId, "spotted ball");
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.MetadataChanged, assetId));
+        updater.applyPending();
+
+        assertThat(index.find("striped"), is(empty()));
+        assertThat(index.find("spotted"), is(equalTo(List.of(assetId))));
+    }
+
+    @Test
+    public void changesToOneAssetInABatchAreAppliedOnce() {
+        givenTitleInDatabase(assetId, "striped ball");
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, assetId));
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.MetadataChanged, assetId));
+
+        assertThat(updater.applyPending(), is(1));
+    }
+
+    @Test
+    public void everyBatchIsAppliedUntilTheFeedIsEmpty() {
+        for (var i = 0; i < 5; ++i) {
+            final var id = UUID.randomUUID().toString();
+            givenTitleInDatabase(id, "ball");
+            changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, id));
+        }
+
+        assertThat(updater.applyPending(), is(5));
+        assertThat(index.size(), is(5));
+        assertThat(changes.take(10), is(empty()));
+    }
+
+    @Test
+    public void failedBatchIsAppliedOnTheNextRun() {
+        givenTitleInDatabase(assetId, "striped ball");
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, assetId));
+        updater = new AssetMetadataIndexUpdater(changes, index, failingOnce(sessionFactory), 2);
+
+        updater.run();
+        assertThat(index.find("ball"), is(empty()));
+        updater.run();
+
+        assertThat(index.find("ball"), is(equalTo(List.of(assetId))));
+        assertThat(changes.take(10), is(empty()));
+    }
+
+    @Test
+    public void eachBatchIsOneChangeToTheIndexListeners() {
+        final var calls = new ArrayList<List<String>>();
+        index.addListener(calls::add);
+        for (var i = 0; i < 5; ++i) {
+            final var id = UUID.randomUUID().toString();
+            givenTitleInDatabase(id, "ball");
+            changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, id));
+        }
+
+        updater.applyPending();
+
+        assertThat(calls.size(), is(3));
+    }
+
+    @Test
+    public void assetsMissingFromTheDatabaseAreRemoved() {
+        final var record = new AssetMetadataRecord();
+        record.setId(assetId);
+        record.setTitleEnglish("ball");
+        index.index(record);
+        changes.publish(new AssetMetadataChange(AssetMetadataChangeKind.MetadataChanged, assetId));
+
+        updater.applyPending();
+
+        assertThat(index.find("ball"), is(empty()));
+    }
+
+    private static SessionFactory failingOnce(SessionFactory sessionFactory) {
+        final var failed = new boolean[1];
+        return (SessionFactory) Proxy.newProxyInstance(SessionFactory.class.getClassLoader(), new Class<?>[]{SessionFactory.class}, (proxy, method, arguments) -> {
+            if (method.getName().equals("openSession") && !failed[0]) {
+                failed[0] = true;
+                throw new HibernateException("database unavailable");
+            }
+
+            try {
+                return method.invoke(sessionFactory, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private void givenTitleInDatabase(String id, String title) {
+        try (final var session = sessionFactory.openSession()) {
+            final var transaction = session.beginTransaction();
+            AssetMetadataRepositoryFactory.createAssetMetadataRepository().setTitles(session, id, title, null, null, null);
+            transaction.commit();
+        }
+    }
+}
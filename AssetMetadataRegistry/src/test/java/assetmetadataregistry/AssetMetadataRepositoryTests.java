@@ -208,6 +208,84 @@ public class AssetMetadataRepositoryTests {
         thenAssetWasNotFound();
     }
 
+    @Test
+    public void searchPagesAreOrderedById() {
+        final var ids = givenAssetsTitled(5, "paged title");
+
+        whenSearch("paged", 0, 5);
+
+        thenFoundIdsAre(sorted(ids));
+    }
+
+    @Test
+    public void searchPageStartsAtOffsetAndStopsAtLimit() {
+        final var ids = sorted(givenAssetsTitled(6, "paged title"));
+
+        whenSearch("paged", 2, 3);
+
+        thenFoundIdsAre(ids.subList(2, 5));
+    }
+
+    @Test
+    public void streamedSearchHandsOverTheSamePage() {
+        final var ids = sorted(givenAssetsTitled(6, "streamed title"));
+
+        whenStreamSearch("streamed", 1, 4);
+
+        thenFoundIdsAre(ids.subList(1, 5));
+    }
+
+    @Test
+    public void searchWithNoLimitFindsNothing() {
+        givenAssetsTitled(3, "paged title");
+
+        whenSearch("paged", 0, 0);
+
+        thenFoundIdsAre(List.of());
+    }
+
+    @Test
+    public void streamedSearchWithNoLimitFindsNothing() {
+        givenAssetsTitled(3, "streamed title");
+
+        whenStreamSearch("streamed", 0, 0);
+
+        thenFoundIdsAre(List.of());
+    }
+
+    @Test
+    public void searchWithNegativeLimitIsRefused() {
+        inSession(session -> Assertions.assertThrows(IllegalArgumentException.class, () -> repository.search(session, "any", 0, -1)));
+    }
+
+    private void thenFoundIdsAre(List<String> expected) {
+        final var actual = new ArrayList<String>();
+        for (var record : found)
+            actual.add(record.getId());
+
+        assertThat(actual, is(equalTo(expected)));
+    }
+
+    private List<String> givenAssetsTitled(int count, String title) {
+        final var result = new ArrayList<String>();
+        inTransactionalSession(session -> {
+            for (var i = 0; i < count; ++i) {
+                final var id = anyString();
+                repository.setTitles(session, id, title, null, null, null);
+                result.add(id);
+            }
+        });
+
+        return result;
+    }
+
+    private List<String> sorted(List<String> ids) {
+        final var result = new ArrayList<>(ids);
+        Collections.sort(result);
+
+        return result;
+    }
+
     private void thenAssetWasNotFound() {
         Assertions.assertEquals(0, timesAssetAppearsInResultsSet());
     }
@@ -226,6 +304,19 @@ public class AssetMetadataRepositoryTests {
         );
     }
 
+    private void whenSearch(String searchTerm, int offset, int limit) {
+        inSession(session ->
+                found = repository.search(session, searchTerm, offset, limit)
+        );
+    }
+
+    private void whenStreamSearch(String searchTerm, int offset, int limit) {
+        found = new ArrayList<>();
+        inSession(session ->
+                repository.search(session, searchTerm, offset, limit, found::add)
+        );
+    }
+
     private String anySubstringOf(String text) {
         final var startIndex = anyIntegerLessThan(text.length() - 1);
         final var minimumEndIndex = startIndex + 1;
@@ -0,0 +1,127 @@
+package assetmetadataregistry;
+
+import org.hibernate.*;
+import org.hibernate.boot.*;
+import org.hibernate.boot.registry.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.*;
+
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures paged search latency against a large catalog, both through the database and through the in-memory index
+ * the service searches. These take minutes, so they only run when asked for:
+ * <pre>mvn test -Dassetmetadata.loadtests=true [-Dassetmetadata.loadtests.rows=1000000] [-Dassetmetadata.loadtests.queries=200]</pre>
+ */
+@EnabledIfSystemProperty(named = "assetmetadata.loadtests", matches = "true")
+public class AssetMetadataSearchLoadTests {
+    private static final int rows = Integer.getInteger("assetmetadata.loadtests.rows", 1_000_000);
+    private static final int queries = Integer.getInteger("assetmetadata.loadtests.queries", 200);
+    private static final int pageSize = 50;
+    private static final int vocabularySize = 5_000;
+
+    private static Path directory;
+    private static Connection connection;
+    private static SessionFactory sessionFactory;
+
+    private final Random random = new Random(1234);
+
+    @BeforeAll
+    public static void setUpCatalog() throws Exception {
+        // a million rows of clobs does not fit in a default test heap, so keep the catalog in cached (disk) tables,
+        // and give each short clob a 1KB block rather than the default 32KB, which would take 64GB of disk
+        directory = Files.createTempDirectory("asset-metadata-load");
+        final var database = "jdbc:hsqldb:file:" + directory.resolve("catalog") + ";hsqldb.default_table_type=cached;hsqldb.lob_file_scale=1;shutdown=true";
+        connection = DriverManager.getConnection(database, "SA", "");
+
+        final var registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", database)
+                .applySetting("hibernate.connection.user", "SA")
+                .applySetting("hibernate.connection.password", "")
+                .applySetting("hibernate.hbm2ddl.auto", "create")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(AssetMetadataRecord.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        insertCatalog();
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        sessionFactory.close();
+        connection.close();
+        try (final var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void pagedSearchLatency() {
+        measure("paged search", new AssetMetadataRepositoryImplementation());
+    }
+
+    @Test
+    public void indexedPagedSearchLatency() {
+        final var index = new AssetMetadataIndex();
+        try (final var session = sessionFactory.openSession()) {
+            index.indexAll(session);
+        }
+
+        measure("indexed paged search", AssetMetadataRepositoryFactory.createIndexedAssetMetadataRepository(index));
+    }
+
+    private void measure(String name, AssetMetadataRepository repository) {
+        final var latencies = new long[queries];
+        for (var i = 0; i < queries; ++i) {
+            final var term = word(random.nextInt(vocabularySize));
+            final var start = System.nanoTime();
+            try (final var session = sessionFactory.openSession()) {
+                final var page = repository.search(session, term, 0, pageSize);
+                assertTrue(page.size() <= pageSize);
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%s over %,d rows: p50=%.1fms p99=%.1fms max=%.1fms%n",
+                name,
+                rows,
+                percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private static void insertCatalog() throws SQLException {
+        final var random = new Random(42);
+        connection.setAutoCommit(false);
+        try (final var statement = connection.prepareStatement(
+                "insert into assets (asset_id, asset_title_en, asset_desc_en, thumb_256) values (?, ?, ?, ?)")) {
+            for (var row = 0; row < rows; ++row) {
+                statement.setString(1, UUID.randomUUID().toString());
+                statement.setString(2, word(random.nextInt(vocabularySize)) + " " + word(random.nextInt(vocabularySize)));
+                statement.setString(3, word(random.nextInt(vocabularySize)) + " " + word(random.nextInt(vocabularySize)) + " " + word(random.nextInt(vocabularySize)));
+                statement.setString(4, "https://thumbs/" + row);
+                statement.addBatch();
+
+                if (row % 10_000 == 9_999 || row == rows - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static String word(int index) {
+        return "term" + index + "x";
+    }
+}
@@ -0,0 +1,65 @@
+package assetmetadataregistry;
+
+import org.junit.jupiter.api.*;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+public class DocumentIdsTests {
+    private DocumentIds documents;
+
+    @BeforeEach
+    public void setUp() {
+        documents = new DocumentIds();
+    }
+
+    @Test
+    public void idsAreDenseAndMapBackToAssets() {
+        for (var i = 0; i < 1000; ++i)
+            assertThat(documents.assign("asset-" + i), is(i));
+
+        assertThat(documents.assetOf(0), is("asset-0"));
+        assertThat(documents.assetOf(999), is("asset-999"));
+        assertThat(documents.size(), is(1000));
+    }
+
+    @Test
+    public void reassigningRetiresThePreviousId() {
+        final var first = documents.assign("a");
+
+        final var second = documents.assign("a");
+
+        assertThat(second, is(greaterThan(first)));
+        assertThat(documents.isLive(first), is(false));
+        assertThat(documents.isLive(second), is(true));
+        assertThat(documents.size(), is(1));
+    }
+
+    @Test
+    public void retiringForgetsTheAsset() {
+        final var document = documents.assign("a");
+
+        assertThat(documents.retire("a"), is(document));
+        assertThat(documents.retire("a"), is(-1));
+        assertThat(documents.isLive(document), is(false));
+        assertThat(documents.size(), is(0));
+    }
+
+    @Test
+    public void compactionRenumbersLiveDocumentsInOrder() {
+        documents.assign("a");
+        documents.assign("b");
+        documents.assign("c");
+        documents.retire("b");
+
+        final var newIds = documents.compact();
+
+        assertThat(newIds[0], is(0));
+        assertThat(newIds[1], is(-1));
+        assertThat(newIds[2], is(1));
+        assertThat(documents.assetOf(1), is("c"));
+        assertThat(documents.capacity(), is(2));
+        assertThat(documents.assign("c"), is(2));
+        assertThat(documents.isLive(1), is(false));
+    }
+}
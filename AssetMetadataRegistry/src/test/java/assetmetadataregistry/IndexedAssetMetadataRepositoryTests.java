@@ -0,0 +1,149 @@
+package assetmetadataregistry;
+
+import org.hibernate.*;
+import org.hibernate.boot.*;
+import org.hibernate.boot.registry.*;
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.util.*;
+import java.util.function.*;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+public class IndexedAssetMetadataRepositoryTests {
+    private AssetMetadataIndex index;
+    private AssetMetadataRepository repository;
+    private String assetId;
+    private List<AssetMetadataRecord> found;
+
+    private Connection connection;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        assetId = UUID.randomUUID().toString();
+        final var database = "jdbc:hsqldb:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        connection = DriverManager.getConnection(database, "SA", "");
+
+        final var registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", database)
+                .applySetting("hibernate.connection.user", "SA")
+                .applySetting("hibernate.connection.password", "")
+                .applySetting("hibernate.hbm2ddl.auto", "create")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(AssetMetadataRecord.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        index = new AssetMetadataIndex();
+        repository = AssetMetadataRepositoryFactory.createIndexedAssetMetadataRepository(index);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void committedTitlesAreSearchable() {
+        inTransactionalSession(session -> repository.setTitles(session, assetId, "striped beach ball", null, null, null));
+
+        whenSearch("ball");
+
+        thenFoundOnlyTheAsset();
+    }
+
+    @Test
+    public void committedDescriptionsAreSearchable() {
+        inTransactionalSession(session -> repository.setDescriptions(session, assetId, null, "ein gestreifter Ball", null, null));
+
+        whenSearch("gestreifter");
+
+        thenFoundOnlyTheAsset();
+    }
+
+    @Test
+    public void rolledBackTitlesAreNotSearchable() {
+        inSession(session -> {
+            final var transaction = session.beginTransaction();
+            repository.setTitles(session, assetId, "striped beach ball", null, null, null);
+            transaction.rollback();
+        });
+
+        whenSearch("ball");
+
+        assertThat(found, is(empty()));
+    }
+
+    @Test
+    public void indexCanBeLoadedFromTheDatabase() {
+        inTransactionalSession(session -> AssetMetadataRepositoryFactory.createAssetMetadataRepository()
+                .setTitles(session, assetId, "striped beach ball", null, null, null));
+
+        inSession(index::indexAll);
+        whenSearch("striped");
+
+        thenFoundOnlyTheAsset();
+    }
+
+    @Test
+    public void pagesComeFromTheIndexOrder() {
+        final var ids = new ArrayList<String>();
+        inTransactionalSession(session -> {
+            for (var i = 0; i < 5; ++i) {
+                final var id = UUID.randomUUID().toString();
+                repository.setTitles(session, id, "ball " + i, null, null, null);
+                ids.add(id);
+            }
+        });
+        Collections.sort(ids);
+
+        inSession(session -> found = repository.search(session, "ball", 1, 2));
+
+        assertThat(found.get(0).getId(), is(equalTo(ids.get(1))));
+        assertThat(found.get(1).getId(), is(equalTo(ids.get(2))));
+        assertThat(found, hasSize(2));
+    }
+
+    @Test
+    public void streamedSearchHandsOverTheSamePage() {
+        inTransactionalSession(session -> {
+            for (var i = 0; i < 5; ++i)
+                repository.setTitles(session, UUID.randomUUID().toString(), "ball " + i, null, null, null);
+        });
+        inSession(session -> found = repository.search(session, "ball", 1, 3));
+        final var streamed = new ArrayList<AssetMetadataRecord>();
+
+        inSession(session -> repository.search(session, "ball", 1, 3, streamed::add));
+
+        assertThat(streamed.size(), is(3));
+        for (var i = 0; i < 3; ++i)
+            assertThat(streamed.get(i).getId(), is(equalTo(found.get(i).getId())));
+    }
+
+    private void thenFoundOnlyTheAsset() {
+        assertThat(found, hasSize(1));
+        assertThat(found.get(0).getId(), is(equalTo(assetId)));
+    }
+
+    private void whenSearch(String searchTerm) {
+        inSession(session -> found = repository.search(session, searchTerm));
+    }
+
+    private void inTransactionalSession(Consumer<Session> toDo) {
+        inSession(session -> {
+            final var transaction = session.beginTransaction();
+            toDo.accept(session);
+            transaction.commit();
+        });
+    }
+
+    private void inSession(Consumer<Session> toDo) {
+        try (final var session = sessionFactory.openSession()) {
+            toDo.accept(session);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package assetmetadataregistry;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostingListTests {
+    private PostingList list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new PostingList();
+    }
+
+    @Test
+    public void documentsComeBackInOrder() {
+        givenDocuments(0, 1, 127, 128, 16_384, 2_000_000_000);
+
+        thenDocumentsAre(0, 1, 127, 128, 16_384, 2_000_000_000);
+    }
+
+    @Test
+    public void smallGapsAndFrequenciesTakeOneByteEach() {
+        givenDocuments(10, 20, 30, 40);
+
+        assertThat(list.sizeInBytes(), is(8));
+        assertThat(list.size(), is(4));
+    }
+
+    @Test
+    public void documentsMustBeAddedInIncreasingOrder() {
+        givenDocuments(5);
+
+        assertThrows(IllegalArgumentException.class, () -> list.add(5, 1));
+    }
+
+    @Test
+    public void frequenciesComeBackWithTheirDocuments() {
+        list.add(3, 1);
+        list.add(4, 300);
+        final var cursor = list.cursor();
+
+        assertThat(cursor.advance(4), is(4));
+        assertThat(cursor.frequency(), is(300));
+    }
+
+    @Test
+    public void remapKeepsFrequencies() {
+        list.add(0, 1);
+        list.add(2, 7);
+
+        final var cursor = list.remap(new int[]{-1, -1, 0}).cursor();
+
+        assertThat(cursor.next(), is(0));
+        assertThat(cursor.frequency(), is(7));
+    }
+
+    @Test
+    public void advanceSkipsToFirstDocumentAtOrAfterTarget() {
+        givenDocuments(3, 7, 200, 300);
+        final var cursor = list.cursor();
+
+        assertThat(cursor.advance(8), is(200));
+        assertThat(cursor.advance(200), is(200));
+        assertThat(cursor.advance(301), is(PostingList.NO_MORE_DOCUMENTS));
+    }
+
+    @Test
+    public void remapRenumbersAndDropsRetiredDocuments() {
+        givenDocuments(0, 2, 3);
+
+        list = list.remap(new int[]{0, -1, -1, 1});
+
+        thenDocumentsAre(0, 1);
+    }
+
+    private void givenDocuments(int... documents) {
+        for (var document : documents)
+            list.add(document, 1);
+    }
+
+    private void thenDocumentsAre(int... expected) {
+        final var actual = new ArrayList<Integer>();
+        final var cursor = list.cursor();
+        for (var document = cursor.next(); document != PostingList.NO_MORE_DOCUMENTS; document = cursor.next())
+            actual.add(document);
+
+        assertArrayEquals(expected, actual.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,68 @@
+package assetmetadataregistry;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.nio.file.*;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+public class SpoolDirectoryAssetMetadataChangeFeedTests {
+    @TempDir
+    public Path directory;
+
+    private final AssetMetadataChange added = new AssetMetadataChange(AssetMetadataChangeKind.AssetAdded, "a");
+    private final AssetMetadataChange changed = new AssetMetadataChange(AssetMetadataChangeKind.MetadataChanged, "b");
+
+    @Test
+    public void changesComeOutInPublicationOrder() {
+        final var feed = new SpoolDirectoryAssetMetadataChangeFeed(directory);
+        feed.publish(added);
+        feed.publish(changed);
+
+        assertThat(feed.take(10), is(equalTo(List.of(added, changed))));
+        assertThat(feed.take(10), is(empty()));
+    }
+
+    @Test
+    public void takeStopsAtTheMaximum() {
+        final var feed = new SpoolDirectoryAssetMetadataChangeFeed(directory);
+        feed.publish(added);
+        feed.publish(changed);
+
+        assertThat(feed.take(1), is(equalTo(List.of(added))));
+        assertThat(feed.take(1), is(equalTo(List.of(changed))));
+    }
+
+    @Test
+    public void peekedChangesStayUntilAcknowledged() {
+        final var feed = new SpoolDirectoryAssetMetadataChangeFeed(directory);
+        feed.publish(added);
+        feed.publish(changed);
+
+        assertThat(feed.peek(10), is(equalTo(List.of(added, changed))));
+        final var again = feed.peek(1);
+        feed.acknowledge(again);
+
+        assertThat(feed.peek(10), is(equalTo(List.of(changed))));
+    }
+
+    @Test
+    public void unreadableChangesAreSetAsideWithoutLosingTheRest() throws Exception {
+        final var feed = new SpoolDirectoryAssetMetadataChangeFeed(directory);
+        Files.writeString(directory.resolve("0000000000000-000000000-unreadable.change"), "garbage");
+        feed.publish(added);
+
+        assertThat(feed.take(10), is(equalTo(List.of(added))));
+        assertThat(Files.exists(directory.resolve("0000000000000-000000000-unreadable.change.rejected")), is(true));
+    }
+
+    @Test
+    public void changesCrossBetweenSeparateFeedsOnTheSameDirectory() {
+        new SpoolDirectoryAssetMetadataChangeFeed(directory).publish(added);
+
+        assertThat(new SpoolDirectoryAssetMetadataChangeFeed(directory).take(10), is(equalTo(List.of(added))));
+    }
+}
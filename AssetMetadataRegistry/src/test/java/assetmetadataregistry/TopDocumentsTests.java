@@ -0,0 +1,41 @@
+package assetmetadataregistry;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopDocumentsTests {
+    private final String[] assets = {"a", "b", "c", "d", "e"};
+
+    @Test
+    public void keepsOnlyTheBestDocuments() {
+        final var top = new TopDocuments(2, document -> assets[document]);
+        top.offer(0, 1.0f);
+        top.offer(1, 5.0f);
+        top.offer(2, 3.0f);
+        top.offer(3, 0.5f);
+
+        assertArrayEquals(new int[]{1, 2}, top.drainBestFirst());
+    }
+
+    @Test
+    public void equalScoresAreOrderedByAssetId() {
+        final var top = new TopDocuments(3, document -> assets[document]);
+        top.offer(4, 1.0f);
+        top.offer(2, 1.0f);
+        top.offer(3, 1.0f);
+        top.offer(0, 1.0f);
+
+        assertArrayEquals(new int[]{0, 2, 3}, top.drainBestFirst());
+    }
+
+    @Test
+    public void holdsFewerThanCapacityWhenFewerAreOffered() {
+        final var top = new TopDocuments(Integer.MAX_VALUE, document -> assets[document]);
+        top.offer(1, 2.0f);
+
+        assertEquals(1, top.size());
+        assertArrayEquals(new int[]{1}, top.drainBestFirst());
+        assertEquals(0, top.size());
+    }
+}
@@ -0,0 +1,49 @@
+package assetsearchservice;
+
+import assetmetadataregistry.*;
+import org.hibernate.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.context.annotation.*;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Configuration
+public class AssetRepositoryConfiguration {
+    @Bean
+    public AssetMetadataIndex createAssetMetadataIndex(SessionFactory sessionFactory) {
+        final var index = new AssetMetadataIndex();
+        try (final var session = sessionFactory.openSession()) {
+            index.indexAll(session);
+        }
+
+        return index;
+    }
+
+    @Bean
+    public AssetMetadataRepository createAssetMetadataRepository(AssetMetadataIndex index) {
+        return AssetMetadataRepositoryFactory.createIndexedAssetMetadataRepository(index);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService createIndexUpdateScheduler(
+            AssetMetadataIndex index,
+            SessionFactory sessionFactory,
+            @Value("${assetsearch.changes.directory:}") String directory,
+            @Value("${assetsearch.changes.intervalMilliseconds:500}") long intervalMilliseconds,
+            @Value("${assetsearch.changes.batchSize:100}") int batchSize) {
+        final var scheduler = Executors.newSingleThreadScheduledExecutor();
+        // the ingest service publishes changes only to a spool directory, so without one nothing would ever arrive
+        if (directory == null || Objects.equals("", directory.trim())) {
+            System.err.println("assetsearch.changes.directory is not set: the search index is built once at startup and will not see later changes");
+            return scheduler;
+        }
+
+        final var changes = new SpoolDirectoryAssetMetadataChangeFeed(Paths.get(directory));
+        final var updater = new AssetMetadataIndexUpdater(changes, index, sessionFactory, batchSize);
+        scheduler.scheduleWithFixedDelay(updater, intervalMilliseconds, intervalMilliseconds, TimeUnit.MILLISECONDS);
+
+        return scheduler;
+    }
+}
@@ -0,0 +1,14 @@
+package assetsearchservice;
+
+import com.assetco.search.results.*;
+
+/**
+ * Where the sales figures and vendor of a found asset come from when hotspots are optimized.
+ */
+public interface AssetSalesSource {
+    AssetVendor getVendor(String assetId);
+
+    AssetPurchaseInfo getPurchaseInfoLast30Days(String assetId);
+
+    AssetPurchaseInfo getPurchaseInfoLast24Hours(String assetId);
+}
@@ -1,6 +1,7 @@
 package assetsearchservice;
 
 import assetmetadataregistry.*;
+import assetsubjectsregistry.*;
 import org.hibernate.*;
 import org.hibernate.boot.*;
 import org.hibernate.boot.registry.*;
@@ -14,7 +15,8 @@ public class DatabaseConfiguration {
             @Value("${assetsearch.connection.url}") String url,
             @Value("${assetsearch.connection.user}") String user,
             @Value("${assetsearch.connection.password}") String password,
-            @Value("${assetsearch.connection.dialect}") String dialect) {
+            @Value("${assetsearch.connection.dialect}") String dialect,
+            @Value("${assetsearch.search.timeoutMilliseconds:2000}") int searchTimeoutMilliseconds) {
         final var registry = new StandardServiceRegistryBuilder()
                 .applySetting("hibernate.connection.url", url)
                 .applySetting("hibernate.connection.user", user)
@@ -23,9 +25,13 @@ public class DatabaseConfiguration {
                 .applySetting("hibernate.connection.autocommit", true)
                 .applySetting("hibernate.show_sql", true)
                 .applySetting("hibernate.dialect", dialect)
+                // bounds how long any single search query may hold a request thread
+                .applySetting("javax.persistence.query.timeout", searchTimeoutMilliseconds)
                 .build();
         final var metadata = new MetadataSources(registry)
                 .addAnnotatedClass(AssetMetadataRecord.class)
+                .addAnnotatedClass(AssetSubjectsRecord.class)
+                .addAnnotatedClass(SubjectRecord.class)
                 .buildMetadata();
 
         return metadata.buildSessionFactory();
@@ -0,0 +1,75 @@
+package assetsearchservice;
+
+import assetmetadataregistry.*;
+import assetsubjectsregistry.*;
+import com.assetco.search.results.*;
+import org.hibernate.*;
+
+import java.net.*;
+import java.util.*;
+
+/**
+ * Turns the metadata records found by a search into the assets the hotspot optimizer works on. An asset's topics
+ * are its subjects; its vendor and sales figures come from the sales source. Topics and vendors are interned for the
+ * life of the assembler, so every asset found with the same subject or vendor holds the same instance of it.
+ */
+public class FoundAssetsAssembler {
+    private final AssetSubjectsRepository subjects;
+    private final AssetSalesSource sales;
+    private final AssetTopicRegistry topics = new AssetTopicRegistry();
+    private final AssetVendorRegistry vendors = new AssetVendorRegistry();
+
+    public FoundAssetsAssembler(AssetSubjectsRepository subjects, AssetSalesSource sales) {
+        this.subjects = subjects;
+        this.sales = sales;
+    }
+
+    /**
+     * Builds one asset per record, in the order found.
+     */
+    public List<Asset> assemble(Session session, List<AssetMetadataRecord> records) {
+        final var ids = new ArrayList<String>(records.size());
+        for (var record : records)
+            ids.add(record.getId());
+        final var subjectsByAsset = subjects.getSubjects(session, ids);
+
+        final var result = new ArrayList<Asset>(records.size());
+        for (var record : records) {
+            final var id = record.getId();
+            result.add(new Asset(
+                    id,
+                    record.getTitleEnglish(),
+                    toURI(record.getThumb256()),
+                    toURI(record.getThumb512()),
+                    sales.getPurchaseInfoLast30Days(id),
+                    sales.getPurchaseInfoLast24Hours(id),
+                    topicsOf(subjectsByAsset.get(id)),
+                    vendors.intern(sales.getVendor(id))));
+        }
+
+        return result;
+    }
+
+    private List<AssetTopic> topicsOf(Set<SubjectRecord> subjects) {
+        final var result = new ArrayList<AssetTopic>();
+        if (subjects == null)
+            return result;
+
+        for (var subject : subjects)
+            result.add(topics.intern(subject.getId(), subject.getTitle()));
+
+        return result;
+    }
+
+    private static URI toURI(String location) {
+        if (location == null)
+            return null;
+
+        // thumbnails are only passed along; one that is not a valid URI must not fail the search
+        try {
+            return new URI(location);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
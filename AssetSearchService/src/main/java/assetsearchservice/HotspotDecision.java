@@ -0,0 +1,31 @@
+package assetsearchservice;
+
+public class HotspotDecision {
+    private String stage;
+    private String hotspot;
+    private String assetId;
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public String getHotspot() {
+        return hotspot;
+    }
+
+    public void setHotspot(String hotspot) {
+        this.hotspot = hotspot;
+    }
+
+    public String getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(String assetId) {
+        this.assetId = assetId;
+    }
+}
@@ -0,0 +1,120 @@
+package assetsearchservice;
+
+import com.assetco.hotspots.optimization.*;
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Runs the hotspot optimizer over a page of found assets within a latency budget. When the optimizer takes longer
+ * than the budget, fails, or cannot be started because every optimizer thread is busy, the page is served without
+ * hotspots rather than late.
+ *
+ * A run over budget is interrupted and stops before its next stage. A stage that is already running - one waiting
+ * on slow assessments, say - still finishes first, and holds its thread until it does.
+ *
+ * Each optimizer thread keeps one SearchResults and empties it for every page, so a request allocates no results or
+ * hotspots of its own. The caller reads what it needs from them on that thread, before the next page can reuse them.
+ *
+ * This object is safe to share between threads.
+ */
+public class HotspotOptimization {
+    private final SearchResultHotspotOptimizer optimizer;
+    private final ExecutorService executor;
+    private final long budgetMilliseconds;
+    private final OptimizationStatistics statistics;
+    private final ThreadLocal<SearchResults> workerResults = ThreadLocal.withInitial(SearchResults::new);
+
+    /**
+     * The statistics, if any, must be the optimizer's listener; null means the optimizer is not instrumented.
+     */
+    public HotspotOptimization(SearchResultHotspotOptimizer optimizer, ExecutorService executor, long budgetMilliseconds, OptimizationStatistics statistics) {
+        this.optimizer = optimizer;
+        this.executor = executor;
+        this.budgetMilliseconds = budgetMilliseconds;
+        this.statistics = statistics;
+    }
+
+    public HotspotOptimization(SearchResultHotspotOptimizer optimizer, ExecutorService executor, long budgetMilliseconds) {
+        this(optimizer, executor, budgetMilliseconds, null);
+    }
+
+    /**
+     * Optimizes the found assets and returns what the reader makes of the results, or nothing if that could not be
+     * had within the budget. The reader runs on the optimizer thread, and the results are reused once it returns, so
+     * it must copy out whatever it keeps. A budget of zero or less turns optimization off.
+     */
+    public <T> Optional<T> optimize(List<Asset> found, Function<SearchResults, T> reader) {
+        if (budgetMilliseconds <= 0)
+            return Optional.empty();
+
+        // the results never leave the optimizer thread, so an abandoned run can write to them without harm
+        final Future<T> optimizing;
+        try {
+            optimizing = executor.submit(() -> {
+                final var results = workerResults.get();
+                results.clear();
+                for (var asset : found)
+                    results.addFound(asset);
+                optimizer.optimize(results);
+
+                return reader.apply(results);
+            });
+        } catch (RejectedExecutionException e) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(optimizing.get(budgetMilliseconds, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            optimizing.cancel(true);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            optimizing.cancel(true);
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stage timings, members added per stage and hotspot, and recent decision traces, totalled since startup.
+     */
+    public HotspotOptimizationStatistics getStatistics() {
+        final var result = new HotspotOptimizationStatistics();
+        result.setEnabled(statistics != null);
+        result.setStages(new LinkedHashMap<>());
+        result.setTraces(new ArrayList<>());
+        if (statistics == null)
+            return result;
+
+        for (var stage : OptimizationStage.values()) {
+            final var stageStatistics = new HotspotStageStatistics();
+            stageStatistics.setCount(statistics.getCount(stage));
+            stageStatistics.setTotalNanoseconds(statistics.getTotalNanoseconds(stage));
+            stageStatistics.setMaximumNanoseconds(statistics.getMaximumNanoseconds(stage));
+            stageStatistics.setMembersAdded(new LinkedHashMap<>());
+            for (var key : HotspotKey.values())
+                stageStatistics.getMembersAdded().put(key.name(), statistics.getMembersAdded(stage, key));
+            result.getStages().put(stage.name(), stageStatistics);
+        }
+
+        for (var trace : statistics.getTraces()) {
+            final var decisions = new ArrayList<HotspotDecision>();
+            for (var decision : trace) {
+                final var message = new HotspotDecision();
+                message.setStage(decision.getStage().name());
+                message.setHotspot(decision.getKey().name());
+                message.setAssetId(decision.getAsset().getId().toString());
+                decisions.add(message);
+            }
+            result.getTraces().add(decisions);
+        }
+
+        return result;
+    }
+}
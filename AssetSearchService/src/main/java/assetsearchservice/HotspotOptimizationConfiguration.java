@@ -0,0 +1,97 @@
+package assetsearchservice;
+
+import assetsubjectsregistry.*;
+import com.assetco.hotspots.optimization.*;
+import com.assetco.search.results.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.context.annotation.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Configuration
+public class HotspotOptimizationConfiguration {
+    @Bean
+    public FoundAssetsAssembler createFoundAssetsAssembler() {
+        // with no sales to read, the HighValue, Fold and Deals hotspots stay empty; see SearchResultsMessage
+        return new FoundAssetsAssembler(new AssetSubjectsRepositoryImplementation(), new UnrecordedAssetSales());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService createHotspotOptimizationExecutor(
+            @Value("${assetsearch.hotspots.threads:4}") int threads,
+            @Value("${assetsearch.hotspots.queueSize:100}") int queueSize) {
+        // a bounded queue, so that when optimization falls behind requests skip it instead of waiting in line
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService createHotspotRefreshScheduler() {
+        return Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Bean
+    public CachingAssetTopicsSource createHotTopics(
+            @Qualifier("createHotspotRefreshScheduler") ScheduledExecutorService scheduler,
+            @Value("${assetsearch.hotspots.hotTopics:}") String hotTopics,
+            @Value("${assetsearch.hotspots.hotTopicsRefreshMilliseconds:60000}") long refreshMilliseconds) {
+        // numbered like the found assets' topics, so the rules can match the two by number rather than by id
+        final var registry = new AssetTopicRegistry();
+        final var topics = new ArrayList<AssetTopic>();
+        for (var topic : hotTopics.split(","))
+            if (!topic.isBlank())
+                topics.add(registry.intern(topic.trim(), topic.trim()));
+
+        // the optimizer only ever reads the cached snapshot, so a slow topics lookup never holds up a search
+        final var cached = new CachingAssetTopicsSource(() -> topics, scheduler);
+        cached.refresh();
+        scheduler.scheduleWithFixedDelay(cached::refresh, refreshMilliseconds, refreshMilliseconds, TimeUnit.MILLISECONDS);
+
+        return cached;
+    }
+
+    @Bean
+    public DealRulesSource createDealRules(
+            @Qualifier("createHotspotRefreshScheduler") ScheduledExecutorService scheduler,
+            @Value("${assetsearch.hotspots.dealRules:}") String path,
+            @Value("${assetsearch.hotspots.dealRulesCheckMilliseconds:10000}") long checkMilliseconds) throws IOException {
+        if (path == null || Objects.equals("", path.trim()))
+            return DealRules::defaults;
+
+        // edits to the file take effect on the next check, without a restart
+        final var rules = new ReloadingDealRules(Paths.get(path));
+        scheduler.scheduleWithFixedDelay(rules::reloadIfChanged, checkMilliseconds, checkMilliseconds, TimeUnit.MILLISECONDS);
+
+        return rules;
+    }
+
+    @Bean
+    public HotspotOptimization createHotspotOptimization(
+            @Qualifier("createHotspotOptimizationExecutor") ExecutorService executor,
+            CachingAssetTopicsSource hotTopics,
+            DealRulesSource dealRules,
+            @Value("${assetsearch.hotspots.budgetMilliseconds:50}") long budgetMilliseconds,
+            @Value("${assetsearch.hotspots.fused:false}") boolean fused,
+            @Value("${assetsearch.hotspots.statistics:false}") boolean statistics,
+            @Value("${assetsearch.hotspots.traceEvery:0}") int traceEvery,
+            @Value("${assetsearch.hotspots.traceCapacity:20}") int traceCapacity,
+            @Value("${assetsearch.hotspots.layoutCacheCapacity:0}") int layoutCacheCapacity,
+            @Value("${assetsearch.hotspots.layoutCacheTimeToLiveMilliseconds:60000}") long layoutCacheTimeToLiveMilliseconds) {
+        final var optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(hotTopics);
+        optimizer.setDealRules(dealRules);
+        optimizer.setFused(fused);
+
+        // the service uses the built-in assessments, which never change, so only the topics can age a layout early
+        if (layoutCacheCapacity > 0)
+            optimizer.setLayoutCache(new HotspotLayoutCache(layoutCacheCapacity, layoutCacheTimeToLiveMilliseconds, hotTopics::getVersion, () -> 0));
+
+        // left off, the optimizer is not instrumented at all
+        final var optimizationStatistics = statistics ? new OptimizationStatistics(traceEvery, traceCapacity) : null;
+        optimizer.setListener(optimizationStatistics);
+
+        return new HotspotOptimization(optimizer, executor, budgetMilliseconds, optimizationStatistics);
+    }
+}
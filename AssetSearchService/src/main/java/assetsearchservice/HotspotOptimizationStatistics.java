@@ -0,0 +1,33 @@
+package assetsearchservice;
+
+import java.util.*;
+
+public class HotspotOptimizationStatistics {
+    private boolean enabled;
+    private Map<String, HotspotStageStatistics> stages;
+    private List<List<HotspotDecision>> traces;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, HotspotStageStatistics> getStages() {
+        return stages;
+    }
+
+    public void setStages(Map<String, HotspotStageStatistics> stages) {
+        this.stages = stages;
+    }
+
+    public List<List<HotspotDecision>> getTraces() {
+        return traces;
+    }
+
+    public void setTraces(List<List<HotspotDecision>> traces) {
+        this.traces = traces;
+    }
+}
@@ -0,0 +1,42 @@
+package assetsearchservice;
+
+import java.util.*;
+
+public class HotspotStageStatistics {
+    private long count;
+    private long totalNanoseconds;
+    private long maximumNanoseconds;
+    private Map<String, Long> membersAdded;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getTotalNanoseconds() {
+        return totalNanoseconds;
+    }
+
+    public void setTotalNanoseconds(long totalNanoseconds) {
+        this.totalNanoseconds = totalNanoseconds;
+    }
+
+    public long getMaximumNanoseconds() {
+        return maximumNanoseconds;
+    }
+
+    public void setMaximumNanoseconds(long maximumNanoseconds) {
+        this.maximumNanoseconds = maximumNanoseconds;
+    }
+
+    public Map<String, Long> getMembersAdded() {
+        return membersAdded;
+    }
+
+    public void setMembersAdded(Map<String, Long> membersAdded) {
+        this.membersAdded = membersAdded;
+    }
+}
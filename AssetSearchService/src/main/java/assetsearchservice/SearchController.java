@@ -1,49 +1,162 @@
 package assetsearchservice;
 
+import assetmetadataregistry.*;
+import com.assetco.search.results.*;
+import com.fasterxml.jackson.core.*;
 import org.hibernate.*;
 import org.springframework.beans.factory.annotation.*;
+import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.*;
 
+import java.io.*;
 import java.util.*;
 
 @CrossOrigin
 @RestController
 public class SearchController {
-    private final SessionFactory sessionFactory;
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final JsonFactory json = new JsonFactory();
+    private static final int itemsPerFlush = 25;
 
-    public SearchController(@Autowired SessionFactory sessionFactory) {
+    private final SessionFactory sessionFactory;
+    private final AssetMetadataRepository metadata;
+    private final int maximumPageSize;
+    private final int maximumStreamSize;
+    private final SearchResultsCache cache;
+    private final FoundAssetsAssembler assets;
+    private final HotspotOptimization hotspots;
 
+    public SearchController(
+            @Autowired SessionFactory sessionFactory,
+            @Autowired AssetMetadataRepository metadata,
+            @Value("${assetsearch.search.maximumPageSize:100}") int maximumPageSize,
+            @Value("${assetsearch.search.maximumStreamSize:10000}") int maximumStreamSize,
+            @Autowired SearchResultsCache cache,
+            @Autowired FoundAssetsAssembler assets,
+            @Autowired HotspotOptimization hotspots) {
         this.sessionFactory = sessionFactory;
+        this.metadata = metadata;
+        this.maximumPageSize = maximumPageSize;
+        this.maximumStreamSize = maximumStreamSize;
+        this.cache = cache;
+        this.assets = assets;
+        this.hotspots = hotspots;
     }
 
     @PostMapping(value = "/search", produces = "application/json")
-    public SearchResultsMessage simpleTextSearch(@RequestParam("q")String query) {
+    public SearchResultsMessage simpleTextSearch(
+            @RequestParam("q") String query,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        if (query == null || query.isBlank()) {
+            final var searchResultsMessage = new SearchResultsMessage();
+            searchResultsMessage.setFound(new ArrayList<>());
+            searchResultsMessage.setHotspots(new LinkedHashMap<>());
+            searchResultsMessage.setOptimized(true);
+            return searchResultsMessage;
+        }
+
+        final var firstResult = Math.max(0, offset);
+        final var pageSize = clampPageSize(limit);
+        return cache.get(query, firstResult, pageSize, () -> search(query.trim(), firstResult, pageSize));
+    }
+
+    private SearchResultsMessage search(String query, int offset, int limit) {
         final var searchResultsMessage = new SearchResultsMessage();
         final var results = new ArrayList<SearchResultsFoundItem>();
-//        try (final var session = sessionFactory.openSession()) {
-//            final var criteriaBuilder = session.getCriteriaBuilder();
-//            session.getCriteriaBuilder().createQuery(AssetMetadataRecord.class).from(AssetMetadataRecord.class).get(AssetMetadataRecord)
-//            final var query = criteriaBuilder.createQuery(AssetMetadataRecord.class);
-//
-//            session.find(AssetMetadataRecord.class, );
-//        }
-//        searchResultsMessage.setFound(results);
-        if ("balls".equals(query)) {
-            addResult(results, new SearchResultsFoundItem(), "balls1", "https://www.gophersport.com/cmsstatic/img/265/g-72046-RainbowUltraPlayRecessReadySportBalls-web-001.jpg");
-            addResult(results, new SearchResultsFoundItem(), "balls2", "https://www.worldsbestgolfdestinations.com/wp-content/uploads/2016/05/VICE_PRO_FLAMINGO_Cut.jpg");
-            addResult(results, new SearchResultsFoundItem(), "balls3", "https://cdn.sweatband.com/Longridge_Foam_Practice_Balls_longridge_practice_foam_balls_single_2000x2000.jpg");
+        final List<Asset> found;
+        try (final var session = sessionFactory.openSession()) {
+            final var records = metadata.search(session, query, offset, limit);
+            for (var record : records)
+                addResult(results, new SearchResultsFoundItem(), record.getId(), record.getThumb256());
+            found = assets.assemble(session, records);
         }
+        searchResultsMessage.setFound(results);
+
+        final var optimized = hotspots.optimize(found, SearchController::membersOf);
+        searchResultsMessage.setHotspots(optimized.orElseGet(LinkedHashMap::new));
+        searchResultsMessage.setOptimized(optimized.isPresent());
         return searchResultsMessage;
     }
 
+    /**
+     * Lists each hotspot group's members once, in the order the optimizer placed them.
+     */
+    private static Map<String, List<String>> membersOf(SearchResults results) {
+        final var result = new LinkedHashMap<String, List<String>>();
+        for (var key : HotspotKey.values()) {
+            final var members = new LinkedHashSet<String>();
+            for (var asset : results.getHotspot(key).getMembers())
+                members.add(asset.getId().toString());
+            result.put(key.name(), new ArrayList<>(members));
+        }
+
+        return result;
+    }
+
+    @GetMapping(value = "/search/cache", produces = "application/json")
+    public SearchResultsCacheStatistics cacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    @GetMapping(value = "/search/hotspots", produces = "application/json")
+    public HotspotOptimizationStatistics hotspotStatistics() {
+        return hotspots.getStatistics();
+    }
+
+    /**
+     * Writes found items as newline-delimited JSON, one object per line, as they are read. Items are flushed in
+     * small groups so the first rows reach the client while the rest are still being produced, and a slow client
+     * holds the writer back instead of the results piling up in memory.
+     */
+    @PostMapping(value = "/search/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamingTextSearch(
+            @RequestParam("q") String query,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        final StreamingResponseBody body = output -> {
+            if (query == null || query.isBlank())
+                return;
+
+            try (final var session = sessionFactory.openSession();
+                 final var generator = json.createGenerator(output)) {
+                generator.setRootValueSeparator(null);
+                final var written = new int[1];
+                metadata.search(session, query.trim(), Math.max(0, offset), clampStreamSize(limit), record -> {
+                    try {
+                        writeItem(generator, record.getId(), record.getThumb256());
+                        if (++written[0] % itemsPerFlush == 1)
+                            generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private static void writeItem(JsonGenerator generator, String id, String thumb256) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        generator.writeStringField("thumb256", thumb256);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(0, Math.min(limit, maximumPageSize));
+    }
+
+    private int clampStreamSize(int limit) {
+        return Math.max(0, Math.min(limit, maximumStreamSize));
+    }
+
     private void addResult(ArrayList<SearchResultsFoundItem> results, SearchResultsFoundItem result1, String id, String thumb256) {
         result1.setThumb256(thumb256);
         result1.setId(id);
         results.add(result1);
     }
 }
-
-//@StaticMetamodel( AssetMetadataRecord.class )
-//class AssetMetadataRecord_ {
-//
-//}
@@ -0,0 +1,138 @@
+package assetsearchservice;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Remembers recent pages of search results, keyed on the normalized query and the page. Entries expire after a fixed
+ * time and the least recently used entry is dropped once the cache is full. Any change to the catalog invalidates
+ * everything, since a changed asset can enter or leave the results of any query. Pages served without their hotspots
+ * are not kept, so a moment of overload is not repeated to everyone asking the same question.
+ *
+ * Cached messages are shared between requests and must not be changed.
+ *
+ * This object is safe to share between threads.
+ */
+public class SearchResultsCache {
+    private final int capacity;
+    private final long timeToLiveMilliseconds;
+    private final Time time;
+    private final Map<Key, Entry> entries;
+
+    // all guarded by this
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public SearchResultsCache(int capacity, long timeToLiveMilliseconds, Time time) {
+        this.capacity = capacity;
+        this.timeToLiveMilliseconds = timeToLiveMilliseconds;
+        this.time = time;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= SearchResultsCache.this.capacity)
+                    return false;
+
+                ++evictions;
+                return true;
+            }
+        };
+    }
+
+    public SearchResultsCache(int capacity, long timeToLiveMilliseconds) {
+        this(capacity, timeToLiveMilliseconds, System::currentTimeMillis);
+    }
+
+    /**
+     * Returns the cached page for the query, or runs the search and caches what it finds.
+     */
+    public SearchResultsMessage get(String query, int offset, int limit, Supplier<SearchResultsMessage> search) {
+        final var key = new Key(normalize(query), offset, limit);
+        final long searchedInGeneration;
+        synchronized (this) {
+            final var entry = entries.get(key);
+            if (entry != null && entry.expiresAt > time.getCurrentTimeInMilliseconds()) {
+                ++hits;
+                return entry.message;
+            }
+
+            if (entry != null) {
+                entries.remove(key);
+                ++evictions;
+            }
+            ++misses;
+            searchedInGeneration = generation;
+        }
+
+        // search without holding the lock so one slow query does not stall every other request
+        final var message = search.get();
+
+        synchronized (this) {
+            // results read before an invalidation may already be stale, so they are returned but not kept
+            if (searchedInGeneration == generation && capacity > 0 && message.isOptimized())
+                entries.put(key, new Entry(message, time.getCurrentTimeInMilliseconds() + timeToLiveMilliseconds));
+        }
+
+        return message;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        ++generation;
+        ++invalidations;
+    }
+
+    public synchronized SearchResultsCacheStatistics getStatistics() {
+        final var statistics = new SearchResultsCacheStatistics();
+        statistics.setSize(entries.size());
+        statistics.setHits(hits);
+        statistics.setMisses(misses);
+        statistics.setEvictions(evictions);
+        statistics.setInvalidations(invalidations);
+
+        return statistics;
+    }
+
+    static String normalize(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Key {
+        private final String query;
+        private final int offset;
+        private final int limit;
+
+        Key(String query, int offset, int limit) {
+            this.query = query;
+            this.offset = offset;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+
+            final var that = (Key) other;
+            return offset == that.offset && limit == that.limit && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, offset, limit);
+        }
+    }
+
+    private static final class Entry {
+        private final SearchResultsMessage message;
+        private final long expiresAt;
+
+        Entry(SearchResultsMessage message, long expiresAt) {
+            this.message = message;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package assetsearchservice;
+
+import assetmetadataregistry.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.context.annotation.*;
+
+@Configuration
+public class SearchResultsCacheConfiguration {
+    @Bean
+    public SearchResultsCache createSearchResultsCache(
+            AssetMetadataIndex index,
+            @Value("${assetsearch.cache.capacity:1000}") int capacity,
+            @Value("${assetsearch.cache.timeToLiveMilliseconds:60000}") long timeToLiveMilliseconds) {
+        final var cache = new SearchResultsCache(capacity, timeToLiveMilliseconds);
+        // called once per batch of changes, so a busy feed clears the cache once a batch rather than once an asset
+        index.addListener(assetIds -> cache.invalidateAll());
+
+        return cache;
+    }
+}
@@ -4,6 +4,8 @@ import java.util.*;
 
 public class SearchResultsMessage {
     private List<SearchResultsFoundItem> found;
+    private Map<String, List<String>> hotspots;
+    private boolean optimized;
 
     public List<SearchResultsFoundItem> getFound() {
         return found;
@@ -12,4 +14,31 @@ public class SearchResultsMessage {
     public void setFound(List<SearchResultsFoundItem> found) {
         this.found = found;
     }
+
+    /**
+     * The ids of the found assets in each hotspot group, keyed on the group's name.
+     *
+     * Sales are not recorded anywhere this service can read them yet (see UnrecordedAssetSales), so every asset
+     * counts as a basic vendor's with nothing sold. Only hot topics can fill a group - Showcase, TopPicks and
+     * Highlight - so HighValue and Fold are always empty, and so is Deals under the default deal rules, which give
+     * basic vendors no deals.
+     */
+    public Map<String, List<String>> getHotspots() {
+        return hotspots;
+    }
+
+    public void setHotspots(Map<String, List<String>> hotspots) {
+        this.hotspots = hotspots;
+    }
+
+    /**
+     * False when the hotspots could not be worked out in time, in which case there are none.
+     */
+    public boolean isOptimized() {
+        return optimized;
+    }
+
+    public void setOptimized(boolean optimized) {
+        this.optimized = optimized;
+    }
 }
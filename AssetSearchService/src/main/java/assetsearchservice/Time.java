@@ -0,0 +1,5 @@
+package assetsearchservice;
+
+public interface Time {
+    long getCurrentTimeInMilliseconds();
+}
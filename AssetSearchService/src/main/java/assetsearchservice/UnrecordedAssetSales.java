@@ -0,0 +1,29 @@
+package assetsearchservice;
+
+import com.assetco.search.results.*;
+
+import java.math.*;
+
+/**
+ * Used until sales are recorded anywhere the search service can read them: every asset belongs to one basic vendor
+ * and has never been shown or sold, so only topics and assessments decide its hotspots.
+ */
+public class UnrecordedAssetSales implements AssetSalesSource {
+    private static final AssetVendor vendor = new AssetVendor("assetco", "AssetCo", AssetVendorRelationshipLevel.Basic, 0.0f);
+    private static final AssetPurchaseInfo nothingSold = new AssetPurchaseInfo(0, 0, new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+
+    @Override
+    public AssetVendor getVendor(String assetId) {
+        return vendor;
+    }
+
+    @Override
+    public AssetPurchaseInfo getPurchaseInfoLast30Days(String assetId) {
+        return nothingSold;
+    }
+
+    @Override
+    public AssetPurchaseInfo getPurchaseInfoLast24Hours(String assetId) {
+        return nothingSold;
+    }
+}
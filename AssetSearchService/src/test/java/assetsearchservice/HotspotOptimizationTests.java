@@ -0,0 +1,165 @@
+package assetsearchservice;
+
+import com.assetco.hotspots.optimization.*;
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.assetco.search.results.HotspotKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotspotOptimizationTests {
+    private SearchResultHotspotOptimizer optimizer;
+    private ExecutorService executor;
+    private Optional<List<List<Asset>>> result;
+
+    @BeforeEach
+    public void setUp() {
+        optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(() -> List.of(new AssetTopic("sport", "Sport")));
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void optimizedResultsHoldTheFoundAssetsInOrder() {
+        final var first = givenAsset("first", "sport");
+        final var second = givenAsset("second", "art");
+
+        whenOptimize(5_000, first, second);
+
+        assertEquals(List.of(first, second), result.get().get(0));
+        assertEquals(List.of(first), result.get().get(1));
+    }
+
+    @Test
+    public void laterPagesAreOptimizedAfreshInTheSameResults() {
+        final var first = givenAsset("first", "sport");
+        final var second = givenAsset("second", "sport");
+        final var optimization = new HotspotOptimization(optimizer, executor, 5_000);
+        final var used = new ArrayList<SearchResults>();
+
+        optimization.optimize(List.of(first, givenAsset("other", "art")), used::add);
+        result = optimization.optimize(List.of(second), results -> {
+            used.add(results);
+            return foundAndShowcaseOf(results);
+        });
+
+        assertSame(used.get(0), used.get(1));
+        assertEquals(List.of(second), result.get().get(0));
+        assertEquals(List.of(second), result.get().get(1));
+    }
+
+    @Test
+    public void abandonedRunsStopBeforeTheirNextStage() throws Exception {
+        final var started = new CountDownLatch(1);
+        final var stages = new ArrayList<OptimizationStage>();
+        optimizer.setHotTopics(() -> {
+            started.countDown();
+            final var end = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (System.nanoTime() < end && !Thread.currentThread().isInterrupted())
+                Thread.onSpinWait();
+            return List.of(new AssetTopic("sport", "Sport"));
+        });
+        optimizer.setListener(new OptimizationListener() {
+            @Override
+            public void stageFinished(OptimizationStage stage, long nanoseconds) {
+                stages.add(stage);
+            }
+
+            @Override
+            public void membersAdded(OptimizationStage stage, HotspotKey key, int count) {
+            }
+        });
+
+        whenOptimize(10, givenAsset("first", "sport"));
+        started.await();
+        executor.submit(() -> { }).get();
+
+        assertTrue(result.isEmpty());
+        assertEquals(List.of(OptimizationStage.Topics), stages);
+    }
+
+    @Test
+    public void zeroBudgetTurnsOptimizationOff() {
+        whenOptimize(0, givenAsset("first", "sport"));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void failingOptimizerIsTreatedAsOverBudget() {
+        optimizer.setHotTopics(() -> {
+            throw new IllegalStateException("no hot topics today");
+        });
+
+        whenOptimize(5_000, givenAsset("first", "sport"));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void busyOptimizerIsSkipped() {
+        executor.shutdown();
+
+        whenOptimize(5_000, givenAsset("first", "sport"));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void statisticsAreEmptyWhenNotInstrumented() {
+        final var statistics = new HotspotOptimization(optimizer, executor, 5_000).getStatistics();
+
+        assertFalse(statistics.isEnabled());
+        assertTrue(statistics.getStages().isEmpty());
+        assertTrue(statistics.getTraces().isEmpty());
+    }
+
+    @Test
+    public void statisticsReportEachStageAndTracedDecisions() {
+        final var optimizationStatistics = new OptimizationStatistics(1, 5);
+        optimizer.setListener(optimizationStatistics);
+        final var optimization = new HotspotOptimization(optimizer, executor, 5_000, optimizationStatistics);
+
+        optimization.optimize(List.of(givenAsset("first", "sport")), results -> results);
+        final var statistics = optimization.getStatistics();
+
+        assertTrue(statistics.isEnabled());
+        assertEquals(1, statistics.getStages().get("Topics").getCount());
+        assertEquals(1L, statistics.getStages().get("Topics").getMembersAdded().get("Showcase"));
+        assertEquals(0, statistics.getStages().get("Read").getCount());
+        final var decision = statistics.getTraces().get(0).get(0);
+        assertEquals("Topics", decision.getStage());
+        assertEquals("Showcase", decision.getHotspot());
+        assertEquals("first", decision.getAssetId());
+    }
+
+    private void whenOptimize(long budgetMilliseconds, Asset... found) {
+        result = new HotspotOptimization(optimizer, executor, budgetMilliseconds).optimize(List.of(found), HotspotOptimizationTests::foundAndShowcaseOf);
+    }
+
+    private static List<List<Asset>> foundAndShowcaseOf(SearchResults results) {
+        return List.of(new ArrayList<>(results.getFound()), new ArrayList<>(results.getHotspot(Showcase).getMembers()));
+    }
+
+    private static Asset givenAsset(String id, String topic) {
+        final var nothingSold = new AssetPurchaseInfo(0, 0, new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+        return new Asset(
+                id,
+                id,
+                null,
+                null,
+                nothingSold,
+                nothingSold,
+                List.of(new AssetTopic(topic, topic)),
+                new AssetVendor("vendor", "Vendor", AssetVendorRelationshipLevel.Basic, 0.0f));
+    }
+}
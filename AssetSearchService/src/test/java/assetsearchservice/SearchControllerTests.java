@@ -0,0 +1,249 @@
+package assetsearchservice;
+
+import assetmetadataregistry.*;
+import assetsubjectsregistry.*;
+import com.assetco.hotspots.optimization.*;
+import com.assetco.search.results.*;
+import org.hibernate.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SearchControllerTests {
+    private static final int maximumPageSize = 20;
+    private static final int maximumStreamSize = 500;
+
+    private AssetMetadataRepository metadata;
+    private AssetSubjectsRepository subjects;
+    private SearchResultHotspotOptimizer optimizer;
+    private ExecutorService executor;
+    private long budgetMilliseconds;
+    private Session session;
+    private SessionFactory sessionFactory;
+    private SearchController controller;
+    private SearchResultsMessage response;
+
+    @BeforeEach
+    public void setUp() {
+        sessionFactory = mock(SessionFactory.class);
+        session = mock(Session.class);
+        metadata = mock(AssetMetadataRepository.class);
+        subjects = mock(AssetSubjectsRepository.class);
+        when(sessionFactory.openSession()).thenReturn(session);
+        optimizer = new SearchResultHotspotOptimizer();
+        executor = Executors.newSingleThreadExecutor();
+        budgetMilliseconds = 5_000;
+        createController();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void foundItemsComeFromMetadataSearch() {
+        final var first = givenRecord("first", "thumb-1");
+        final var second = givenRecord("second", "thumb-2");
+        when(metadata.search(session, "balls", 0, 10)).thenReturn(List.of(first, second));
+
+        whenSearch("balls", 0, 10);
+
+        thenFoundIds("first", "second");
+        assertEquals("thumb-2", response.getFound().get(1).getThumb256());
+    }
+
+    @Test
+    public void pageSizeIsCappedAtMaximum() {
+        whenSearch("balls", 40, 1000);
+
+        verify(metadata).search(session, "balls", 40, maximumPageSize);
+    }
+
+    @Test
+    public void negativeOffsetStartsAtBeginning() {
+        whenSearch("balls", -5, 10);
+
+        verify(metadata).search(session, "balls", 0, 10);
+    }
+
+    @Test
+    public void blankQueryFindsNothingWithoutSearching() {
+        whenSearch("   ", 0, 10);
+
+        thenFoundIds();
+        verifyNoInteractions(metadata);
+    }
+
+    @Test
+    public void repeatedSearchIsServedFromCache() {
+        final var first = givenRecord("first", "thumb-1");
+        when(metadata.search(session, "balls", 0, 10)).thenReturn(List.of(first));
+
+        whenSearch("balls", 0, 10);
+        whenSearch("  Balls ", 0, 10);
+
+        thenFoundIds("first");
+        verify(metadata, times(1)).search(session, "balls", 0, 10);
+    }
+
+    @Test
+    public void differentPagesAreCachedSeparately() {
+        whenSearch("balls", 0, 10);
+        whenSearch("balls", 10, 10);
+
+        verify(metadata).search(session, "balls", 0, 10);
+        verify(metadata).search(session, "balls", 10, 10);
+    }
+
+    @Test
+    public void hotspotsNameTheFoundAssetsInEachGroup() {
+        final var first = givenRecord("first", "thumb-1");
+        final var second = givenRecord("second", "thumb-2");
+        when(metadata.search(session, "balls", 0, 10)).thenReturn(List.of(first, second));
+        givenSubject("second", "sport");
+        optimizer.setHotTopics(() -> List.of(new AssetTopic("sport", "Sport")));
+
+        whenSearch("balls", 0, 10);
+
+        assertTrue(response.isOptimized());
+        assertEquals(List.of("second"), response.getHotspots().get(HotspotKey.Showcase.name()));
+        assertEquals(List.of("second"), response.getHotspots().get(HotspotKey.Highlight.name()));
+        assertEquals(List.of(), response.getHotspots().get(HotspotKey.Fold.name()));
+        assertEquals(HotspotKey.values().length, response.getHotspots().size());
+    }
+
+    @Test
+    public void pageIsServedWithoutHotspotsWhenOptimizationRunsOverBudget() {
+        final var first = givenRecord("first", "thumb-1");
+        when(metadata.search(session, "balls", 0, 10)).thenReturn(List.of(first));
+        givenSubject("first", "sport");
+        optimizer.setHotTopics(() -> {
+            sleep(2_000);
+            return List.of(new AssetTopic("sport", "Sport"));
+        });
+        budgetMilliseconds = 10;
+        createController();
+
+        whenSearch("balls", 0, 10);
+
+        thenFoundIds("first");
+        assertFalse(response.isOptimized());
+        assertEquals(Map.of(), response.getHotspots());
+    }
+
+    @Test
+    public void pagesWithoutHotspotsAreSearchedAgain() {
+        when(metadata.search(session, "balls", 0, 10)).thenReturn(List.of(givenRecord("first", "thumb-1")));
+        budgetMilliseconds = 0;
+        createController();
+
+        whenSearch("balls", 0, 10);
+        whenSearch("balls", 0, 10);
+
+        verify(metadata, times(2)).search(session, "balls", 0, 10);
+    }
+
+    @Test
+    public void streamWritesOneJsonObjectPerLine() throws IOException {
+        final var first = givenRecord("first", "thumb-1");
+        final var second = givenRecord("second", "thumb-2");
+        givenStreamedRecords("balls", 0, 10, first, second);
+
+        final var lines = whenStream("balls", 0, 10);
+
+        assertEquals(List.of(
+                "{\"id\":\"first\",\"thumb256\":\"thumb-1\"}",
+                "{\"id\":\"second\",\"thumb256\":\"thumb-2\"}"), lines);
+    }
+
+    @Test
+    public void streamIsNewlineDelimitedJson() {
+        final var response = controller.streamingTextSearch("balls", 0, 10);
+
+        assertEquals(SearchController.NDJSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    public void streamSizeIsCappedAtMaximum() throws IOException {
+        whenStream("balls", 0, 100_000);
+
+        verify(metadata).search(eq(session), eq("balls"), eq(0), eq(maximumStreamSize), any());
+    }
+
+    @Test
+    public void blankQueryStreamsNothingWithoutSearching() throws IOException {
+        assertEquals(List.of(), whenStream(" ", 0, 10));
+        verifyNoInteractions(metadata);
+    }
+
+    private void createController() {
+        controller = new SearchController(
+                sessionFactory,
+                metadata,
+                maximumPageSize,
+                maximumStreamSize,
+                new SearchResultsCache(100, 60_000),
+                new FoundAssetsAssembler(subjects, new UnrecordedAssetSales()),
+                new HotspotOptimization(optimizer, executor, budgetMilliseconds));
+    }
+
+    private void givenSubject(String assetId, String subjectId) {
+        final var subject = new SubjectRecord();
+        subject.setId(subjectId);
+        subject.setTitle(subjectId);
+        when(subjects.getSubjects(eq(session), any())).thenReturn(Map.of(assetId, Set.of(subject)));
+    }
+
+    private static void sleep(long milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void givenStreamedRecords(String query, int offset, int limit, AssetMetadataRecord... records) {
+        doAnswer(invocation -> {
+            final Consumer<AssetMetadataRecord> found = invocation.getArgument(4);
+            for (var record : records)
+                found.accept(record);
+            return null;
+        }).when(metadata).search(eq(session), eq(query), eq(offset), eq(limit), any());
+    }
+
+    private List<String> whenStream(String query, int offset, int limit) throws IOException {
+        final var output = new ByteArrayOutputStream();
+        controller.streamingTextSearch(query, offset, limit).getBody().writeTo(output);
+
+        final var text = output.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+
+    private AssetMetadataRecord givenRecord(String id, String thumb256) {
+        final var record = new AssetMetadataRecord();
+        record.setId(id);
+        record.setThumb256(thumb256);
+
+        return record;
+    }
+
+    private void whenSearch(String query, int offset, int limit) {
+        response = controller.simpleTextSearch(query, offset, limit);
+    }
+
+    private void thenFoundIds(String... expected) {
+        final var actual = new ArrayList<String>();
+        for (var item : response.getFound())
+            actual.add(item.getId());
+
+        assertEquals(List.of(expected), actual);
+    }
+}
@@ -0,0 +1,129 @@
+package assetsearchservice;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchResultsCacheTests {
+    private static final long timeToLive = 1000;
+
+    private long now;
+    private int searches;
+    private SearchResultsCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+        searches = 0;
+        cache = new SearchResultsCache(2, timeToLive, () -> now);
+    }
+
+    @Test
+    public void secondLookupIsAHit() {
+        whenGet("balls", 0, 10);
+        whenGet("balls", 0, 10);
+
+        assertEquals(1, searches);
+        thenStatisticsAre(1, 1, 0, 0);
+    }
+
+    @Test
+    public void queriesAreNormalized() {
+        whenGet("Red  Balls", 0, 10);
+        whenGet(" red balls ", 0, 10);
+
+        assertEquals(1, searches);
+    }
+
+    @Test
+    public void pagesAreSeparateEntries() {
+        whenGet("balls", 0, 10);
+        whenGet("balls", 10, 10);
+        whenGet("balls", 0, 20);
+
+        assertEquals(3, searches);
+    }
+
+    @Test
+    public void entriesExpire() {
+        whenGet("balls", 0, 10);
+        now += timeToLive;
+        whenGet("balls", 0, 10);
+
+        assertEquals(2, searches);
+        thenStatisticsAre(0, 2, 1, 0);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        whenGet("a", 0, 10);
+        whenGet("b", 0, 10);
+        whenGet("a", 0, 10);
+        whenGet("c", 0, 10);
+
+        whenGet("a", 0, 10);
+        whenGet("b", 0, 10);
+
+        assertEquals(4, searches);
+        assertEquals(2, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void invalidationEmptiesTheCache() {
+        whenGet("balls", 0, 10);
+
+        cache.invalidateAll();
+        whenGet("balls", 0, 10);
+
+        assertEquals(2, searches);
+        thenStatisticsAre(0, 2, 0, 1);
+    }
+
+    @Test
+    public void resultsReadAcrossAnInvalidationAreNotKept() {
+        cache.get("balls", 0, 10, () -> {
+            cache.invalidateAll();
+            return message("balls", true);
+        });
+
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void pagesServedWithoutHotspotsAreNotKept() {
+        cache.get("balls", 0, 10, () -> message("balls", false));
+
+        whenGet("balls", 0, 10);
+
+        assertEquals(1, searches);
+        assertEquals(1, cache.getStatistics().getSize());
+    }
+
+    private void whenGet(String query, int offset, int limit) {
+        cache.get(query, offset, limit, () -> {
+            ++searches;
+            return message(query, true);
+        });
+    }
+
+    private static SearchResultsMessage message(String query, boolean optimized) {
+        final var item = new SearchResultsFoundItem();
+        item.setId(query);
+        final var message = new SearchResultsMessage();
+        message.setFound(List.of(item));
+        message.setHotspots(Map.of());
+        message.setOptimized(optimized);
+
+        return message;
+    }
+
+    private void thenStatisticsAre(long hits, long misses, long evictions, long invalidations) {
+        final var statistics = cache.getStatistics();
+        assertEquals(hits, statistics.getHits());
+        assertEquals(misses, statistics.getMisses());
+        assertEquals(evictions, statistics.getEvictions());
+        assertEquals(invalidations, statistics.getInvalidations());
+    }
+}
@@ -112,21 +112,38 @@ const SearchApplication = () => {
     async function startSearching() {
         setSearchState(new ExecutingSearch())
         try {
-            const response = await fetch(searchServiceUrl + '/search?q=' + encodeURIComponent(searchText), {method: 'post'})
-            console.log("search finished")
+            const response = await fetch(searchServiceUrl + '/search/stream?q=' + encodeURIComponent(searchText), {method: 'post'})
+            console.log("search started")
             if (!response.ok)
                 throw 'failed'
 
-            console.log("search succeeded")
-            const results = await response.json()
-            console.log(results)
+            // results arrive as one JSON object per line; show each batch as soon as it is read
+            const found = []
+            const reader = response.body.getReader()
+            const decoder = new TextDecoder()
+            let pending = ''
+            while (true) {
+                const {done, value} = await reader.read()
+                pending += decoder.decode(value || new Uint8Array(), {stream: !done})
+
+                const lines = pending.split('\n')
+                pending = done ? '' : lines.pop()
+                const before = found.length
+                for (const line of lines)
+                    if (line.trim().length > 0)
+                        found.push(JSON.parse(line))
+
+                if (found.length > before)
+                    setSearchState(new FoundSomething({found: found.slice()}))
+                if (done)
+                    break
+            }
 
-            if (!results.found || results.found.length < 1)
+            console.log("search finished")
+            if (found.length < 1)
                 throw 'nothing found'
 
             console.log("found results")
-
-            setSearchState(new FoundSomething(results))
         } catch (ex) {
             setSearchState(new FoundNothing())
         }
@@ -2,6 +2,13 @@ package assetsubjectsregistry;
 
 import org.hibernate.*;
 
+import java.util.*;
+
 public interface AssetSubjectsRepository {
     void setSubjects(Session session, String assetId, SubjectRecord... subjects);
+
+    /**
+     * Reads the subjects of several assets at once. Assets without subjects are left out of the result.
+     */
+    Map<String, Set<SubjectRecord>> getSubjects(Session session, Collection<String> assetIds);
 }
@@ -18,6 +18,26 @@ public final class AssetSubjectsRepositoryImplementation implements AssetSubject
         transaction.commit();
     }
 
+    @Override
+    public Map<String, Set<SubjectRecord>> getSubjects(Session session, Collection<String> assetIds) {
+        final var result = new HashMap<String, Set<SubjectRecord>>();
+        if (assetIds.isEmpty())
+            return result;
+
+        // one round trip for the whole page rather than one per asset
+        final var assets = session.createQuery(
+                "select distinct asset from asset_subjects_asset asset left join fetch asset.subjects where asset.id in (:ids)",
+                AssetSubjectsRecord.class)
+                .setParameterList("ids", assetIds)
+                .setReadOnly(true)
+                .list();
+        for (var asset : assets)
+            if (asset.getSubjects() != null && !asset.getSubjects().isEmpty())
+                result.put(asset.getId(), asset.getSubjects());
+
+        return result;
+    }
+
     private AssetSubjectsRecord getAssetForId(Session session, String assetId) {
         final var existingAsset = session.find(AssetSubjectsRecord.class, assetId);
         if (existingAsset != null)
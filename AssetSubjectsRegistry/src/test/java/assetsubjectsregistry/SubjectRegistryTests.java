@@ -83,6 +83,24 @@ public class SubjectRegistryTests {
         assetShouldHaveSubjects(assetId, newSubject);
     }
 
+    @Test
+    public void subjectsOfSeveralAssetsAreReadTogether() {
+        final var first = preExistingAssetId();
+        final var second = preExistingAssetId();
+        final var bare = preExistingAssetId();
+        final var shared = getSubjectRecord("some-id", "Some Title");
+        associateSubjects(first, shared, getSubjectRecord("some-other-id", "Some Other Title"));
+        associateSubjects(second, getSubjectRecord("some-id", "Some Title"));
+
+        try (final var session = sessionFactory.openSession()) {
+            final var found = repository.getSubjects(session, List.of(first, second, bare));
+
+            assertThat(found.keySet(), equalTo(Set.of(first, second)));
+            assertThat(getComparableSubjects(found.get(first)), equalTo(Set.of("some-id:Some Title", "some-other-id:Some Other Title")));
+            assertThat(getComparableSubjects(found.get(second)), equalTo(Set.of("some-id:Some Title")));
+        }
+    }
+
     private void saveSubject(SubjectRecord oldSubject) {
         try (final var session = sessionFactory.openSession()) {
             final var transaction = session.beginTransaction();
@@ -0,0 +1,23 @@
+package com.assetco.hotspots.optimization;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Reads every found asset's topics three times over, as the topics rule does when it looks for the hottest topic,
+ * fills the showcase and then highlights. Run through the benchmark runner, the GC profiler shows what reading them
+ * allocates per operation.
+ */
+public class AssetTopicsBenchmarks extends SearchResultsBenchmark {
+    @Benchmark
+    public int readTopics() {
+        var result = 0;
+        for (var pass = 0; pass < 3; ++pass)
+            for (var asset : results.getFound()) {
+                var topics = asset.getTopics();
+                for (var i = 0; i < topics.size(); ++i)
+                    result += topics.get(i).getId().length();
+            }
+
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.assetco.hotspots.optimization;
+
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result comes with its allocation rate. Takes the usual
+ * JMH command line, e.g.
+ * <pre>java -jar target/benchmarks.jar DealsOptimizer -p size=1000 -p vendorMix=partnerHeavy</pre>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        final var options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
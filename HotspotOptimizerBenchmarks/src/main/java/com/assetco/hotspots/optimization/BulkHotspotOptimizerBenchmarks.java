@@ -0,0 +1,93 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A pre-rendering job's batch of pages, optimized one call at a time as the job used to, and in one bulk call with
+ * the pages shared between a pool's threads. Hot topics and assessments are slowed down to stand in for the remote
+ * calls behind them, since those are what the bulk call saves on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkHotspotOptimizerBenchmarks {
+    @Param({"1000", "10000"})
+    public int pages;
+
+    @Param({"100"})
+    public int pageSize;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private List<SearchResults> batch;
+    private SearchResultHotspotOptimizer optimizer;
+    private BulkHotspotOptimizer bulkOptimizer;
+
+    @Setup(Level.Trial)
+    public void createResults() {
+        final var fixture = new SearchResultsFixture(20170605L);
+        batch = new ArrayList<>();
+        for (var i = 0; i < pages; ++i)
+            batch.add(fixture.createResults(pageSize, VendorMix.Mixed));
+        final var topics = fixture.createHotTopics(50);
+        final AssetTopicsSource hotTopics = () -> {
+            remoteCall();
+            return topics;
+        };
+        final AssetAssessments assessments = new AssetAssessments() {
+            @Override
+            public boolean isAssetDealEligible(Asset asset) {
+                return (asset.getId().hashCode() & 1) == 0;
+            }
+
+            @Override
+            public BitSet assessAll(List<Asset> assets) {
+                remoteCall();
+                return AssetAssessments.super.assessAll(assets);
+            }
+        };
+
+        optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(hotTopics);
+        optimizer.setAssessments(assessments);
+
+        pool = new ForkJoinPool(parallelism);
+        bulkOptimizer = new BulkHotspotOptimizer();
+        bulkOptimizer.setHotTopics(hotTopics);
+        bulkOptimizer.setAssessments(assessments);
+        bulkOptimizer.setForkJoinPool(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutDownPool() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<SearchResults> optimizeEachPage() {
+        for (var results : batch)
+            optimizer.optimize(results);
+        return batch;
+    }
+
+    @Benchmark
+    public BulkOptimizationReport optimizeAll() {
+        return bulkOptimizer.optimizeAll(batch);
+    }
+
+    // roughly the cost of a round trip inside a data centre
+    private static void remoteCall() {
+        final var until = System.nanoTime() + 20_000;
+        while (System.nanoTime() < until)
+            Thread.onSpinWait();
+    }
+}
@@ -0,0 +1,16 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+public class DealsOptimizerBenchmarks extends SearchResultsBenchmark {
+    private final DealsOptimizer optimizer = new DealsOptimizer();
+    private final AssetAssessments assessments = asset -> (asset.getId().hashCode() & 1) == 0;
+
+    @Benchmark
+    public SearchResults optimize() {
+        final var cleared = clearedResults();
+        optimizer.optimize(cleared, assessments);
+        return cleared;
+    }
+}
@@ -0,0 +1,56 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+
+/**
+ * Asks, for every found asset, whether it is in a hotspot holding half of them, the way the sales and relationship
+ * rules do. Scanning a plain list of members grows with the square of the page size; asking the hotspot does not.
+ */
+public class HotspotMembershipBenchmarks extends SearchResultsBenchmark {
+    private Hotspot hotspot;
+    private List<Asset> memberList;
+
+    @Override
+    protected void prepare() {
+        hotspot = new Hotspot();
+        memberList = new ArrayList<>();
+        var found = results.getFound();
+        for (var i = 0; i < found.size(); i += 2) {
+            hotspot.addMember(found.get(i));
+            memberList.add(found.get(i));
+        }
+    }
+
+    @Benchmark
+    public int hotspotContains() {
+        var members = 0;
+        for (var asset : results.getFound())
+            if (hotspot.contains(asset))
+                ++members;
+
+        return members;
+    }
+
+    @Benchmark
+    public int memberViewContains() {
+        var members = 0;
+        for (var asset : results.getFound())
+            if (hotspot.getMembers().contains(asset))
+                ++members;
+
+        return members;
+    }
+
+    @Benchmark
+    public int listScanContains() {
+        var members = 0;
+        for (var asset : results.getFound())
+            if (memberList.contains(asset))
+                ++members;
+
+        return members;
+    }
+}
@@ -0,0 +1,56 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * The whole optimization process over export-sized result sets, reading the assets on a fork/join pool of each size
+ * from one to thirty-two threads, so the speed-up can be read off against the number of cores. Parallelism above the
+ * number of cores on the machine only measures the overhead of the extra threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelHotspotOptimizerBenchmarks {
+    @Param({"100000", "500000"})
+    public int size;
+
+    @Param({"Mixed", "PartnerHeavy"})
+    public VendorMix vendorMix;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private SearchResultHotspotOptimizer optimizer;
+    private SearchResults results;
+
+    @Setup(Level.Trial)
+    public void createResults() {
+        final var fixture = new SearchResultsFixture(20170605L);
+        results = fixture.createResults(size, vendorMix);
+        final var topics = fixture.createHotTopics(50);
+
+        pool = new ForkJoinPool(parallelism);
+        optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(() -> topics);
+        optimizer.setAssessments(asset -> (asset.getId().hashCode() & 1) == 0);
+        optimizer.setForkJoinPool(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutDownPool() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public SearchResults optimize() {
+        optimizer.optimize(results);
+        return results;
+    }
+}
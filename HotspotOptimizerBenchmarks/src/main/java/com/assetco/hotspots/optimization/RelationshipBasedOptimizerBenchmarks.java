@@ -0,0 +1,15 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+public class RelationshipBasedOptimizerBenchmarks extends SearchResultsBenchmark {
+    private final RelationshipBasedOptimizer optimizer = new RelationshipBasedOptimizer();
+
+    @Benchmark
+    public SearchResults optimize() {
+        final var cleared = clearedResults();
+        optimizer.optimize(cleared);
+        return cleared;
+    }
+}
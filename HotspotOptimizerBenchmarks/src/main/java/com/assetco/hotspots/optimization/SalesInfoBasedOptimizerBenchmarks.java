@@ -0,0 +1,15 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+public class SalesInfoBasedOptimizerBenchmarks extends SearchResultsBenchmark {
+    private final SalesInfoBasedOptimizer optimizer = new SalesInfoBasedOptimizer();
+
+    @Benchmark
+    public SearchResults optimize() {
+        final var cleared = clearedResults();
+        optimizer.optimize(cleared);
+        return cleared;
+    }
+}
@@ -0,0 +1,32 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The whole optimization process, as run on every search request.
+ */
+public class SearchResultHotspotOptimizerBenchmarks extends SearchResultsBenchmark {
+    @Param({"0", "5", "50", "1000"})
+    public int hotTopics;
+
+    @Param({"false", "true"})
+    public boolean fused;
+
+    private SearchResultHotspotOptimizer optimizer;
+
+    @Override
+    protected void prepare() {
+        final var topics = fixture.createHotTopics(hotTopics);
+        optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(() -> topics);
+        optimizer.setAssessments(asset -> (asset.getId().hashCode() & 1) == 0);
+        optimizer.setFused(fused);
+    }
+
+    @Benchmark
+    public SearchResults optimize() {
+        optimizer.optimize(results);
+        return results;
+    }
+}
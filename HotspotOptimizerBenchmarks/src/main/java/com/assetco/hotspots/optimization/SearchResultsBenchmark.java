@@ -0,0 +1,48 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * The shared setup of the optimizer benchmarks: one page of synthetic search results per trial, sized from a tiny
+ * page up to a full export, with its vendors spread over the relationship levels as the mix says.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class SearchResultsBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int size;
+
+    @Param({"Basic", "Mixed", "PartnerHeavy"})
+    public VendorMix vendorMix;
+
+    protected SearchResultsFixture fixture;
+    protected SearchResults results;
+
+    @Setup(Level.Trial)
+    public void createResults() {
+        fixture = new SearchResultsFixture(20170605L);
+        results = fixture.createResults(size, vendorMix);
+        prepare();
+    }
+
+    /**
+     * Lets a benchmark finish its own setup once the results exist.
+     */
+    protected void prepare() {
+    }
+
+    /**
+     * Every optimizer only adds to hotspots, so each run starts from cleared ones, as it does in the full process.
+     */
+    protected SearchResults clearedResults() {
+        results.clearHotspots();
+        return results;
+    }
+}
@@ -0,0 +1,100 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Reading what the rules test from the asset objects against reading it from the results' columns, on pages large
+ * enough that the assets no longer fit in cache: first the bare scan, testing every sales rule and counting the
+ * partners, then the whole optimization process each way. The columns are laid out once, when the trial is set up,
+ * as they are for results optimized more than once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultsColumnsBenchmarks {
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"Mixed", "PartnerHeavy"})
+    public VendorMix vendorMix;
+
+    private SearchResults results;
+    private SearchResultsColumns columns;
+    private SearchResultHotspotOptimizer fusedOptimizer;
+    private SearchResultHotspotOptimizer columnarOptimizer;
+
+    @Setup(Level.Trial)
+    public void createResults() {
+        final var fixture = new SearchResultsFixture(20170605L);
+        results = fixture.createResults(size, vendorMix);
+        columns = results.getColumns();
+        final var topics = fixture.createHotTopics(50);
+
+        fusedOptimizer = new SearchResultHotspotOptimizer();
+        fusedOptimizer.setHotTopics(() -> topics);
+        fusedOptimizer.setAssessments(asset -> (asset.getId().hashCode() & 1) == 0);
+        fusedOptimizer.setFused(true);
+
+        columnarOptimizer = new SearchResultHotspotOptimizer();
+        columnarOptimizer.setHotTopics(() -> topics);
+        columnarOptimizer.setAssessments(asset -> (asset.getId().hashCode() & 1) == 0);
+        columnarOptimizer.setColumnar(true);
+    }
+
+    @Benchmark
+    public int scanAssets() {
+        var result = 0;
+        for (var asset : results.getFound()) {
+            final var features = asset.getSalesFeatures();
+            if (asset.getVendor().getRelationshipLevel() == AssetVendorRelationshipLevel.Partner)
+                ++result;
+            if (features.hasRevenueAtLeast(5000_00) && features.hasMarginAtLeast(4000_00))
+                ++result;
+            if (features.getTimesShownLast24Hours() >= 1000 &&
+                    features.getTimesPurchasedLast24Hours() * 200 >= features.getTimesShownLast24Hours())
+                ++result;
+            if (features.getTimesShownLast30Days() >= 50000 &&
+                    features.getTimesPurchasedLast30Days() * 125 >= features.getTimesShownLast30Days())
+                ++result;
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public int scanColumns() {
+        var result = 0;
+        for (var i = 0; i < columns.size(); ++i) {
+            if (columns.getRelationshipLevel(i) == AssetVendorRelationshipLevel.Partner)
+                ++result;
+            if (columns.hasRevenueAtLeast(i, 5000_00) && columns.hasMarginAtLeast(i, 4000_00))
+                ++result;
+            if (columns.getTimesShownLast24Hours(i) >= 1000 &&
+                    columns.getTimesPurchasedLast24Hours(i) * 200 >= columns.getTimesShownLast24Hours(i))
+                ++result;
+            if (columns.getTimesShownLast30Days(i) >= 50000 &&
+                    columns.getTimesPurchasedLast30Days(i) * 125 >= columns.getTimesShownLast30Days(i))
+                ++result;
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public SearchResults optimizeAssets() {
+        fusedOptimizer.optimize(results);
+        return results;
+    }
+
+    @Benchmark
+    public SearchResults optimizeColumns() {
+        columnarOptimizer.optimize(results);
+        return results;
+    }
+}
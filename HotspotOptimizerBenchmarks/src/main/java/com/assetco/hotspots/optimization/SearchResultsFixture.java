@@ -0,0 +1,86 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.math.*;
+import java.util.*;
+
+/**
+ * Builds repeatable synthetic search results for the benchmarks. Topic popularity and sales are skewed, so only a
+ * small share of assets is hot or sells well, as on a real page.
+ */
+final class SearchResultsFixture {
+    private static final int topicCount = 2000;
+    private static final int vendorsPerLevel = 4;
+
+    private final Random random;
+    private final List<AssetTopic> topics = new ArrayList<>();
+    private final Map<AssetVendorRelationshipLevel, List<AssetVendor>> vendors = new EnumMap<>(AssetVendorRelationshipLevel.class);
+
+    SearchResultsFixture(long seed) {
+        random = new Random(seed);
+        for (var i = 0; i < topicCount; ++i)
+            topics.add(new AssetTopic("topic-" + i, "Topic " + i));
+        for (var level : AssetVendorRelationshipLevel.values()) {
+            final var levelVendors = new ArrayList<AssetVendor>();
+            for (var i = 0; i < vendorsPerLevel; ++i)
+                levelVendors.add(new AssetVendor(level + "-" + i, level + " vendor " + i, level, 0.1f + 0.1f * level.ordinal()));
+            vendors.put(level, levelVendors);
+        }
+    }
+
+    SearchResults createResults(int size, VendorMix vendorMix) {
+        final var results = new SearchResults();
+        for (var i = 0; i < size; ++i)
+            results.addFound(createAsset(i, vendorMix));
+
+        return results;
+    }
+
+    /**
+     * The hot topics list, hottest first. Fresh topic objects are made so matching goes by id, as it does in service.
+     */
+    List<AssetTopic> createHotTopics(int count) {
+        final var shuffled = new ArrayList<>(topics);
+        Collections.shuffle(shuffled, random);
+
+        final var result = new ArrayList<AssetTopic>();
+        for (var topic : shuffled.subList(0, Math.min(count, shuffled.size())))
+            result.add(new AssetTopic(topic.getId(), topic.getDisplayName()));
+
+        return result;
+    }
+
+    private Asset createAsset(int index, VendorMix vendorMix) {
+        final var assetTopics = new ArrayList<AssetTopic>();
+        final var topicsOnAsset = 1 + random.nextInt(3);
+        for (var i = 0; i < topicsOnAsset; ++i)
+            assetTopics.add(topics.get(skewed(topicCount)));
+
+        final var levelVendors = vendors.get(vendorMix.pick(random));
+
+        return new Asset(
+                "asset-" + index,
+                "Asset " + index,
+                null,
+                null,
+                createPurchaseInfo(100_000, 10_000),
+                createPurchaseInfo(5_000, 1_000),
+                assetTopics,
+                levelVendors.get(random.nextInt(levelVendors.size())));
+    }
+
+    private AssetPurchaseInfo createPurchaseInfo(int maximumTimesShown, int maximumRevenue) {
+        final var timesShown = skewed(maximumTimesShown);
+        // conversion is mostly well under the one in two hundred the sales rules look for
+        final var timesPurchased = (long) (timesShown * 0.01 * Math.pow(random.nextDouble(), 2));
+        final var revenue = BigDecimal.valueOf(skewed(maximumRevenue * 100), 2);
+        final var royalties = revenue.multiply(BigDecimal.valueOf(5 + random.nextInt(85), 2)).setScale(2, RoundingMode.HALF_UP);
+
+        return new AssetPurchaseInfo(timesShown, timesPurchased, new Money(revenue), new Money(royalties));
+    }
+
+    private int skewed(int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), 4));
+    }
+}
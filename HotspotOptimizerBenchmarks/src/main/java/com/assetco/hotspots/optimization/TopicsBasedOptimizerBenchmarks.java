@@ -0,0 +1,24 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+
+public class TopicsBasedOptimizerBenchmarks extends SearchResultsBenchmark {
+    @Param({"0", "5", "50", "1000"})
+    public int hotTopics;
+
+    private final TopicsBasedOptimizer optimizer = new TopicsBasedOptimizer();
+    private List<AssetTopic> topics;
+
+    @Override
+    protected void prepare() {
+        topics = fixture.createHotTopics(hotTopics);
+    }
+
+    @Benchmark
+    public boolean optimize() {
+        return optimizer.optimize(clearedResults(), () -> topics);
+    }
+}
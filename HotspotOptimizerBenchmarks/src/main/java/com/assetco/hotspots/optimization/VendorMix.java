@@ -0,0 +1,44 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+
+/**
+ * How the vendors of the assets in a benchmark's search results are spread over the relationship levels.
+ */
+public enum VendorMix {
+    /**
+     * Only basic vendors, so no relationship rule ever fires.
+     */
+    Basic(1, 0, 0, 0),
+    /**
+     * Mostly basic vendors with a few of every other level, like a typical page.
+     */
+    Mixed(60, 20, 15, 5),
+    /**
+     * Half of the assets come from partners, so partners claim the showcase and fill the fold.
+     */
+    PartnerHeavy(20, 15, 15, 50);
+
+    // weights in relationship level order: basic, silver, gold, partner
+    private final int[] weights;
+    private final int total;
+
+    VendorMix(int basic, int silver, int gold, int partner) {
+        weights = new int[]{basic, silver, gold, partner};
+        total = basic + silver + gold + partner;
+    }
+
+    AssetVendorRelationshipLevel pick(Random random) {
+        final var levels = AssetVendorRelationshipLevel.values();
+        var roll = random.nextInt(total);
+        for (var i = 0; i < weights.length; ++i) {
+            roll -= weights[i];
+            if (roll < 0)
+                return levels[i];
+        }
+
+        return levels[0];
+    }
+}
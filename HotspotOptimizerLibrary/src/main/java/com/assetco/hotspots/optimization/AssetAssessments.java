@@ -2,6 +2,8 @@ package com.assetco.hotspots.optimization;
 
 import com.assetco.search.results.*;
 
+import java.util.*;
+
 /**
  * Make determinations about individual assets.
  */
@@ -10,4 +12,17 @@ public interface AssetAssessments {
      * Determines if an asset is has special eligibility for a deal.
      */
     boolean isAssetDealEligible(Asset asset);
+
+    /**
+     * Determines deal eligibility for a list of assets at once. Bit i of the result is set if the asset at index i is
+     * eligible. Implementations backed by a remote service should answer the whole list in a single call.
+     */
+    default BitSet assessAll(List<Asset> assets) {
+        var result = new BitSet(assets.size());
+        for (var i = 0; i < assets.size(); ++i)
+            if (isAssetDealEligible(assets.get(i)))
+                result.set(i);
+
+        return result;
+    }
 }
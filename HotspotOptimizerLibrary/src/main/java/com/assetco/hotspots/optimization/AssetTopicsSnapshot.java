@@ -0,0 +1,39 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+
+/**
+ * The topics a {@link CachingAssetTopicsSource} fetched at one moment, numbered so that callers can tell one fetch
+ * from the next. Version 0 is the empty list held before anything was fetched.
+ *
+ * This object is immutable.
+ */
+public final class AssetTopicsSnapshot {
+    private final List<AssetTopic> topics;
+    private final long version;
+    private final long takenAtMilliseconds;
+
+    AssetTopicsSnapshot(Iterable<AssetTopic> topics, long version, long takenAtMilliseconds) {
+        var copy = new ArrayList<AssetTopic>();
+        for (var topic : topics)
+            copy.add(topic);
+
+        this.topics = Collections.unmodifiableList(copy);
+        this.version = version;
+        this.takenAtMilliseconds = takenAtMilliseconds;
+    }
+
+    public List<AssetTopic> getTopics() {
+        return topics;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getTakenAtMilliseconds() {
+        return takenAtMilliseconds;
+    }
+}
@@ -0,0 +1,88 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Optimizes many search results in one go, for jobs that warm hotspot layouts ahead of time. The hotspots are the
+ * same as {@link SearchResultHotspotOptimizer} gives each page on its own, but the work common to every page is done
+ * once per batch:
+ * - the hot topics are fetched and ranked once, so a list that comes back empty is not asked for again;
+ * - the deal rules are read once;
+ * - each asset's deal eligibility is asked for once, keyed on asset id, however many pages it turns up on, unless
+ *   two workers happen to ask about it at the same moment;
+ * - each worker thread keeps its working storage from one page to the next.
+ *
+ * The pages are shared out one at a time between as many workers as the fork/join pool has threads, and each page is
+ * optimized on a single thread. Pages must not be optimized by anything else while a batch runs.
+ */
+public class BulkHotspotOptimizer {
+    private final FusedHotspotOptimizer optimizer = new FusedHotspotOptimizer();
+    private final LongSupplier nanoClock;
+    private AssetTopicsSource hotTopics = ArrayList::new;
+    private AssetAssessments assessments = asset -> true;
+    private DealRulesSource dealRules = DealRules::defaults;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int assessmentCacheCapacity = 1 << 20;
+
+    public BulkHotspotOptimizer(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public BulkHotspotOptimizer() {
+        this(System::nanoTime);
+    }
+
+    public BulkOptimizationReport optimizeAll(List<SearchResults> pages) {
+        var started = nanoClock.getAsLong();
+
+        var ranks = new HotTopicRanks(hotTopics.getTopics());
+        var rules = dealRules.getRules();
+        // the clock stands still for the batch, so no answer expires before the batch is done
+        var batchAssessments = new CachingAssetAssessments(assessments, assessmentCacheCapacity, 1, () -> 0);
+
+        var next = new AtomicInteger();
+        var workers = new ArrayList<ForkJoinTask<?>>();
+        for (var i = 0; i < Math.min(pool.getParallelism(), pages.size()); ++i)
+            workers.add(pool.submit(() -> {
+                var facts = new FusedHotspotOptimizer.Facts();
+                for (var page = next.getAndIncrement(); page < pages.size(); page = next.getAndIncrement())
+                    optimizer.optimize(pages.get(page), ranks, batchAssessments, rules, facts);
+            }));
+
+        for (var worker : workers)
+            worker.join();
+
+        return new BulkOptimizationReport(pages.size(), nanoClock.getAsLong() - started);
+    }
+
+    public void setHotTopics(AssetTopicsSource hotTopics) {
+        this.hotTopics = hotTopics;
+    }
+
+    public void setAssessments(AssetAssessments assessments) {
+        this.assessments = assessments;
+    }
+
+    public void setDealRules(DealRulesSource dealRules) {
+        this.dealRules = dealRules;
+    }
+
+    /**
+     * The pool the pages are shared out on; the common pool unless set.
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * How many deal eligibility answers a batch remembers before it starts asking again about the least recently used.
+     */
+    public void setAssessmentCacheCapacity(int assessmentCacheCapacity) {
+        this.assessmentCacheCapacity = assessmentCacheCapacity;
+    }
+}
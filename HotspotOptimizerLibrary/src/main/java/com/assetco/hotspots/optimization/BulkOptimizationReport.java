@@ -0,0 +1,31 @@
+package com.assetco.hotspots.optimization;
+
+/**
+ * How much a {@link BulkHotspotOptimizer} batch got through and how long it took.
+ *
+ * This object is immutable.
+ */
+public final class BulkOptimizationReport {
+    private final int resultsOptimized;
+    private final long elapsedNanoseconds;
+
+    BulkOptimizationReport(int resultsOptimized, long elapsedNanoseconds) {
+        this.resultsOptimized = resultsOptimized;
+        this.elapsedNanoseconds = elapsedNanoseconds;
+    }
+
+    public int getResultsOptimized() {
+        return resultsOptimized;
+    }
+
+    public long getElapsedNanoseconds() {
+        return elapsedNanoseconds;
+    }
+
+    /**
+     * Throughput over the whole batch, including the time spent fetching what the pages share.
+     */
+    public double getResultsPerSecond() {
+        return resultsOptimized * 1e9 / Math.max(1, elapsedNanoseconds);
+    }
+}
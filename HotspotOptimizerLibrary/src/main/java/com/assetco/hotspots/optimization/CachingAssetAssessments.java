@@ -0,0 +1,101 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Remembers the answers another {@link AssetAssessments} gives across requests, keyed on asset id. Answers expire
+ * after a fixed time and the least recently used answer is dropped once the cache is full. Assets that are not
+ * remembered are asked about in a single batch, each id once.
+ *
+ * This object is safe to share between threads.
+ */
+public class CachingAssetAssessments implements AssetAssessments {
+    private final AssetAssessments assessments;
+    private final int capacity;
+    private final long timeToLiveMilliseconds;
+    private final LongSupplier clock;
+    private final Map<Object, Entry> entries;
+
+    public CachingAssetAssessments(AssetAssessments assessments, int capacity, long timeToLiveMilliseconds, LongSupplier clock) {
+        this.assessments = assessments;
+        this.capacity = capacity;
+        this.timeToLiveMilliseconds = timeToLiveMilliseconds;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > CachingAssetAssessments.this.capacity;
+            }
+        };
+    }
+
+    public CachingAssetAssessments(AssetAssessments assessments, int capacity, long timeToLiveMilliseconds) {
+        this(assessments, capacity, timeToLiveMilliseconds, System::currentTimeMillis);
+    }
+
+    @Override
+    public boolean isAssetDealEligible(Asset asset) {
+        return assessAll(List.of(asset)).get(0);
+    }
+
+    @Override
+    public BitSet assessAll(List<Asset> assets) {
+        var result = new BitSet(assets.size());
+        var unanswered = new ArrayList<Asset>();
+        var unansweredIds = new HashMap<Object, Integer>();
+        // where in the batch asked for each asset's answer will be, or -1 if it is already known
+        var positions = new int[assets.size()];
+        Arrays.fill(positions, -1);
+        var now = clock.getAsLong();
+
+        synchronized (this) {
+            for (var i = 0; i < assets.size(); ++i) {
+                var asset = assets.get(i);
+                var entry = entries.get(asset.getId());
+                if (entry != null && entry.expiresAt > now) {
+                    if (entry.eligible)
+                        result.set(i);
+                    continue;
+                }
+
+                var position = unansweredIds.get(asset.getId());
+                if (position == null) {
+                    position = unanswered.size();
+                    unansweredIds.put(asset.getId(), position);
+                    unanswered.add(asset);
+                }
+                positions[i] = position;
+            }
+        }
+
+        if (unanswered.isEmpty())
+            return result;
+
+        // ask without holding the lock so one slow call does not stall every other request
+        var eligible = assessments.assessAll(unanswered);
+
+        synchronized (this) {
+            for (var i = 0; i < unanswered.size(); ++i)
+                entries.put(unanswered.get(i).getId(), new Entry(eligible.get(i), now + timeToLiveMilliseconds));
+        }
+
+        for (var i = 0; i < assets.size(); ++i)
+            if (positions[i] >= 0 && eligible.get(positions[i]))
+                result.set(i);
+
+        return result;
+    }
+
+    private static final class Entry {
+        private final boolean eligible;
+        private final long expiresAt;
+
+        Entry(boolean eligible, long expiresAt) {
+            this.eligible = eligible;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
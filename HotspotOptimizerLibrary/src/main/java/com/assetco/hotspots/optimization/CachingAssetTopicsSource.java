@@ -0,0 +1,115 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Answers from a snapshot of a slower topics source, so optimizing a page never waits for topics to be looked up.
+ * New snapshots are fetched in the background whenever {@link #refresh()} is called, whether on a schedule or because
+ * the topics are known to have changed, and replace the current one in a single step. Until the first fetch completes
+ * there are no topics. A fetch that fails leaves the current snapshot in place and is counted, so that whatever
+ * watches the snapshot's age can also tell why it is growing.
+ *
+ * This object is safe to share between threads.
+ */
+public class CachingAssetTopicsSource implements AssetTopicsSource {
+    private final AssetTopicsSource source;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final Object fetchLock = new Object();
+    private volatile AssetTopicsSnapshot snapshot;
+    // all written under fetchLock
+    private volatile long failureCount;
+    private volatile RuntimeException lastFailure;
+    private volatile long lastFailureAtMilliseconds;
+
+    public CachingAssetTopicsSource(AssetTopicsSource source, Executor executor, LongSupplier clock) {
+        this.source = source;
+        this.executor = executor;
+        this.clock = clock;
+        this.snapshot = new AssetTopicsSnapshot(List.of(), 0, clock.getAsLong());
+    }
+
+    public CachingAssetTopicsSource(AssetTopicsSource source, Executor executor) {
+        this(source, executor, System::currentTimeMillis);
+    }
+
+    @Override
+    public Iterable<AssetTopic> getTopics() {
+        return snapshot.getTopics();
+    }
+
+    public AssetTopicsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * How long ago the current snapshot was taken.
+     */
+    public long getAgeInMilliseconds() {
+        return clock.getAsLong() - snapshot.getTakenAtMilliseconds();
+    }
+
+    /**
+     * How many fetches have failed since this source was made.
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Why the latest failed fetch failed, or null if none has. A later fetch that succeeds does not clear it.
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * When the latest failed fetch failed, or 0 if none has.
+     */
+    public long getLastFailureAtMilliseconds() {
+        return lastFailureAtMilliseconds;
+    }
+
+    /**
+     * Asks for a new snapshot to be fetched in the background. Calls made while a fetch is still waiting to start are
+     * answered by that fetch.
+     */
+    public void refresh() {
+        if (!refreshPending.compareAndSet(false, true))
+            return;
+
+        try {
+            executor.execute(this::refreshNow);
+        } catch (RejectedExecutionException e) {
+            refreshPending.set(false);
+        }
+    }
+
+    /**
+     * Fetches a new snapshot on the calling thread.
+     */
+    public void refreshNow() {
+        synchronized (fetchLock) {
+            // cleared before fetching, so a change announced during the fetch gets a fetch of its own
+            refreshPending.set(false);
+            try {
+                snapshot = new AssetTopicsSnapshot(source.getTopics(), snapshot.getVersion() + 1, clock.getAsLong());
+            } catch (RuntimeException e) {
+                lastFailureAtMilliseconds = clock.getAsLong();
+                lastFailure = e;
+                ++failureCount;
+                e.printStackTrace();
+            }
+        }
+    }
+}
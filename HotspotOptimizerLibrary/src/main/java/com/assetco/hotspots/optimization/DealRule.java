@@ -0,0 +1,75 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+/**
+ * One set of terms under which an asset is put in the deals hotspot, with every threshold already in the form the
+ * sales features compare against, so testing an asset costs no more than the hand-written conditions did.
+ *
+ * This object is immutable.
+ */
+final class DealRule {
+    private final boolean requiresEligibility;
+    private final boolean hasEligibilityAlternative;
+    private final long alternativeRoyaltiesNumerator;
+    private final long alternativeRoyaltiesDenominator;
+    private final boolean hasRoyaltiesLimit;
+    private final long royaltiesNumerator;
+    private final long royaltiesDenominator;
+    private final boolean hasRevenueFloor;
+    private final long minimumRevenueInCents;
+
+    /**
+     * A denominator of zero leaves out that share of revenue, and a minimum of Long.MIN_VALUE leaves out the revenue
+     * floor.
+     */
+    DealRule(
+            boolean requiresEligibility,
+            long alternativeRoyaltiesNumerator,
+            long alternativeRoyaltiesDenominator,
+            long royaltiesNumerator,
+            long royaltiesDenominator,
+            long minimumRevenueInCents) {
+        this.requiresEligibility = requiresEligibility;
+        this.hasEligibilityAlternative = alternativeRoyaltiesDenominator != 0;
+        this.alternativeRoyaltiesNumerator = alternativeRoyaltiesNumerator;
+        this.alternativeRoyaltiesDenominator = alternativeRoyaltiesDenominator;
+        this.hasRoyaltiesLimit = royaltiesDenominator != 0;
+        this.royaltiesNumerator = royaltiesNumerator;
+        this.royaltiesDenominator = royaltiesDenominator;
+        this.hasRevenueFloor = minimumRevenueInCents != Long.MIN_VALUE;
+        this.minimumRevenueInCents = minimumRevenueInCents;
+    }
+
+    boolean requiresEligibility() {
+        return requiresEligibility;
+    }
+
+    /**
+     * Checks the asset's sales against the terms.
+     */
+    boolean test(AssetSalesFeatures features, boolean isDealEligible) {
+        if (requiresEligibility && !isDealEligible)
+            if (!hasEligibilityAlternative || !features.hasRoyaltiesAtMost(alternativeRoyaltiesNumerator, alternativeRoyaltiesDenominator))
+                return false;
+
+        if (hasRoyaltiesLimit && !features.hasRoyaltiesAtMost(royaltiesNumerator, royaltiesDenominator))
+            return false;
+
+        return !hasRevenueFloor || features.hasRevenueAtLeast(minimumRevenueInCents);
+    }
+
+    /**
+     * Checks the sales of the asset at the index against the terms.
+     */
+    boolean test(SearchResultsColumns columns, int index, boolean isDealEligible) {
+        if (requiresEligibility && !isDealEligible)
+            if (!hasEligibilityAlternative || !columns.hasRoyaltiesAtMost(index, alternativeRoyaltiesNumerator, alternativeRoyaltiesDenominator))
+                return false;
+
+        if (hasRoyaltiesLimit && !columns.hasRoyaltiesAtMost(index, royaltiesNumerator, royaltiesDenominator))
+            return false;
+
+        return !hasRevenueFloor || columns.hasRevenueAtLeast(index, minimumRevenueInCents);
+    }
+}
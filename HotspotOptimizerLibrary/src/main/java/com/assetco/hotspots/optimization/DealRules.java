@@ -0,0 +1,212 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.io.*;
+import java.math.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * The terms on which assets are put in the deals hotspot, keyed by the highest relationship level among the found
+ * assets and the asset's own level. Terms are read from properties - deal-rules.properties, beside this class, holds
+ * the standard terms and describes the format - and compiled into a table indexed by the two levels, so finding an
+ * asset's terms is an array lookup.
+ *
+ * This object is immutable.
+ */
+public final class DealRules {
+    private static final AssetVendorRelationshipLevel[] levels = AssetVendorRelationshipLevel.values();
+    private static final DealRule[] noRules = new DealRule[0];
+    private static final DealRules defaults = parse(defaultTerms());
+
+    // indexed by highest level * number of levels + asset level
+    private final DealRule[][] rules;
+    private final boolean[] usesEligibility;
+    // indexed by highest level
+    private final boolean[] hasRules;
+
+    private DealRules(DealRule[][] rules) {
+        this.rules = rules;
+        this.usesEligibility = new boolean[rules.length];
+        this.hasRules = new boolean[levels.length];
+        for (var i = 0; i < rules.length; ++i) {
+            for (var rule : rules[i])
+                usesEligibility[i] |= rule.requiresEligibility();
+            hasRules[i / levels.length] |= rules[i].length > 0;
+        }
+    }
+
+    /**
+     * The standard terms.
+     */
+    public static DealRules defaults() {
+        return defaults;
+    }
+
+    /**
+     * Reads terms from a properties file.
+     */
+    public static DealRules read(Path path) throws IOException {
+        var properties = new Properties();
+        try (var reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+
+        return parse(properties);
+    }
+
+    /**
+     * Compiles terms given as properties. Throws IllegalArgumentException, naming the property, for anything that is
+     * not understood.
+     */
+    public static DealRules parse(Properties properties) {
+        var terms = new HashMap<Integer, TreeMap<Integer, Map<String, String>>>();
+        for (var name : properties.stringPropertyNames()) {
+            var parts = name.split("\\.");
+            if (parts.length != 4)
+                throw new IllegalArgumentException("Deal rule " + name + " is not named <highest level>.<asset level>.<rule number>.<term>");
+
+            var highest = parseLevel(name, parts[0]);
+            var level = parseLevel(name, parts[1]);
+            if (level.compareTo(highest) > 0)
+                throw new IllegalArgumentException("Deal rule " + name + " is for assets above the highest level on the page");
+
+            terms.computeIfAbsent(indexOf(highest, level), k -> new TreeMap<>())
+                    .computeIfAbsent(parseRuleNumber(name, parts[2]), k -> new HashMap<>())
+                    .put(parts[3], properties.getProperty(name).trim());
+        }
+
+        var rules = new DealRule[levels.length * levels.length][];
+        Arrays.fill(rules, noRules);
+        for (var cell : terms.entrySet()) {
+            var compiled = new ArrayList<DealRule>();
+            for (var rule : cell.getValue().entrySet())
+                compiled.add(compile(describe(cell.getKey(), rule.getKey()), rule.getValue()));
+            rules[cell.getKey()] = compiled.toArray(noRules);
+        }
+
+        return new DealRules(rules);
+    }
+
+    /**
+     * Whether any asset can be a deal on a page whose highest relationship level is given.
+     */
+    boolean hasRulesFor(AssetVendorRelationshipLevel highest) {
+        return hasRules[highest.ordinal()];
+    }
+
+    /**
+     * The rules for an asset, in the order they apply.
+     */
+    DealRule[] rulesFor(AssetVendorRelationshipLevel highest, AssetVendorRelationshipLevel level) {
+        return rules[indexOf(highest, level)];
+    }
+
+    /**
+     * Whether any rule for an asset asks if it is deal-eligible.
+     */
+    boolean usesEligibility(AssetVendorRelationshipLevel highest, AssetVendorRelationshipLevel level) {
+        return usesEligibility[indexOf(highest, level)];
+    }
+
+    private static int indexOf(AssetVendorRelationshipLevel highest, AssetVendorRelationshipLevel level) {
+        return highest.ordinal() * levels.length + level.ordinal();
+    }
+
+    private static String describe(int index, int ruleNumber) {
+        return levels[index / levels.length] + "." + levels[index % levels.length] + "." + ruleNumber;
+    }
+
+    private static DealRule compile(String rule, Map<String, String> terms) {
+        var requiresEligibility = false;
+        var alternative = new long[]{0, 0};
+        var royalties = new long[]{0, 0};
+        var minimumRevenueInCents = Long.MIN_VALUE;
+
+        for (var term : terms.entrySet()) {
+            var name = rule + "." + term.getKey();
+            switch (term.getKey()) {
+                case "requiresEligibility":
+                    requiresEligibility = parseBoolean(name, term.getValue());
+                    break;
+                case "unlessRoyaltiesAtMost":
+                    alternative = parseShare(name, term.getValue());
+                    break;
+                case "royaltiesAtMost":
+                    royalties = parseShare(name, term.getValue());
+                    break;
+                case "revenueAtLeast":
+                    minimumRevenueInCents = parseCents(name, term.getValue());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Deal rule " + name + " is not a known term");
+            }
+        }
+
+        if (alternative[1] != 0 && !requiresEligibility)
+            throw new IllegalArgumentException("Deal rule " + rule + ".unlessRoyaltiesAtMost needs requiresEligibility=true");
+
+        return new DealRule(requiresEligibility, alternative[0], alternative[1], royalties[0], royalties[1], minimumRevenueInCents);
+    }
+
+    private static AssetVendorRelationshipLevel parseLevel(String name, String value) {
+        for (var level : levels)
+            if (level.name().equals(value))
+                return level;
+
+        throw new IllegalArgumentException("Deal rule " + name + " names " + value + ", which is not a relationship level");
+    }
+
+    private static int parseRuleNumber(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Deal rule " + name + " has " + value + " where a rule number belongs", e);
+        }
+    }
+
+    private static boolean parseBoolean(String name, String value) {
+        if (value.equals("true") || value.equals("false"))
+            return Boolean.parseBoolean(value);
+
+        throw new IllegalArgumentException("Deal rule " + name + " must be true or false, not " + value);
+    }
+
+    private static long[] parseShare(String name, String value) {
+        var parts = value.split("/");
+        try {
+            if (parts.length == 2) {
+                var numerator = Long.parseLong(parts[0].trim());
+                var denominator = Long.parseLong(parts[1].trim());
+                if (numerator >= 0 && denominator > 0)
+                    return new long[]{numerator, denominator};
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+
+        throw new IllegalArgumentException("Deal rule " + name + " must be a share such as 7/10, not " + value);
+    }
+
+    private static long parseCents(String name, String value) {
+        try {
+            return new BigDecimal(value).movePointRight(2).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Deal rule " + name + " must be an amount in whole cents, not " + value, e);
+        }
+    }
+
+    private static Properties defaultTerms() {
+        var properties = new Properties();
+        try (var stream = DealRules.class.getResourceAsStream("deal-rules.properties")) {
+            if (stream == null)
+                throw new IllegalStateException("deal-rules.properties is missing from the classpath");
+            properties.load(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return properties;
+    }
+}
@@ -0,0 +1,11 @@
+package com.assetco.hotspots.optimization;
+
+/**
+ * Supplies the deal rules in force, such as the standard ones or ones kept in a file that may change.
+ */
+public interface DealRulesSource {
+    /**
+     * The rules to apply to the page being optimized.
+     */
+    DealRules getRules();
+}
@@ -0,0 +1,433 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.assetco.hotspots.optimization.HotTopicRanks.*;
+import static com.assetco.hotspots.optimization.RelationshipBasedOptimizer.*;
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static com.assetco.search.results.HotspotKey.*;
+
+/**
+ * Gives exactly the hotspots the topics, sales, relationship and deals optimizers give when run one after another,
+ * but reads each found asset only once. That pass records the facts every rule needs - the vendor's relationship
+ * level, the asset's hottest topic and which sales rules it meets - in flat arrays, and the rules are then applied,
+ * in the same order of precedence, to those arrays instead of to the assets.
+ *
+ * Reading the assets is the bulk of the work on large pages, and each asset is read on its own, so given a fork/join
+ * pool it is split across the pool's threads. Everything that depends on the order of the assets - which topic holds
+ * the showcase, which partner reaches three assets first, the order of every hotspot - is still decided on the
+ * calling thread.
+ *
+ * Given the results' columns, the facts are read from them instead of from the assets, and the assets themselves are
+ * only touched to be added to hotspots.
+ *
+ * Bulk jobs rank the hot topics once for every page and keep one set of facts per thread, whose storage is reused
+ * from one page to the next.
+ *
+ * The rules here must be kept in step with the optimizers they stand in for; FusedHotspotOptimizerTests compares the
+ * two on random pages.
+ */
+class FusedHotspotOptimizer {
+    private static final AssetVendorRelationshipLevel[] levels = AssetVendorRelationshipLevel.values();
+
+    // each asset's facts are packed into one int: relationship level, then sales rules met, then hot topic rank
+    private static final int levelBits = 0b11;
+    private static final int highValueSales = 1 << 2;
+    private static final int trendingSales = 1 << 3;
+    private static final int steadySales = 1 << 4;
+    private static final int hotRankShift = 5;
+    // fewer assets than this are read on one thread; forking costs more than reading them
+    private static final int assetsPerTask = 4096;
+
+    private final DealsOptimizer dealsOptimizer = new DealsOptimizer();
+
+    public void optimize(SearchResults results, AssetTopicsSource hotTopicsSource, AssetAssessments assessments) {
+        optimize(results, hotTopicsSource, assessments, DealRules.defaults(), null, null);
+    }
+
+    /**
+     * Reads the found assets on the given pool, or on the calling thread if there is none. The recorder, if any, is
+     * told as each stage finishes.
+     */
+    public void optimize(SearchResults results, AssetTopicsSource hotTopicsSource, AssetAssessments assessments, DealRules dealRules, ForkJoinPool pool, StageRecorder recorder) {
+        results.clearHotspots();
+        var facts = new Facts();
+        facts.read(results.getFound(), null, hotTopicsSource, pool);
+        optimize(results, facts, assessments, dealRules, recorder);
+    }
+
+    /**
+     * Reads the facts from the results' columns, on the given pool, or on the calling thread if there is none.
+     */
+    public void optimizeColumns(SearchResults results, AssetTopicsSource hotTopicsSource, AssetAssessments assessments, DealRules dealRules, ForkJoinPool pool, StageRecorder recorder) {
+        results.clearHotspots();
+        var facts = new Facts();
+        facts.read(results.getFound(), results.getColumns(), hotTopicsSource, pool);
+        optimize(results, facts, assessments, dealRules, recorder);
+    }
+
+    /**
+     * Reads the found assets on the calling thread against hot topics already ranked, into the given facts.
+     */
+    void optimize(SearchResults results, HotTopicRanks ranks, AssetAssessments assessments, DealRules dealRules, Facts facts) {
+        results.clearHotspots();
+        facts.read(results.getFound(), ranks);
+        optimize(results, facts, assessments, dealRules, null);
+    }
+
+    private void optimize(SearchResults results, Facts facts, AssetAssessments assessments, DealRules dealRules, StageRecorder recorder) {
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Read);
+        SearchResultHotspotOptimizer.stopIfInterrupted();
+        optimizeTopics(results, facts);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Topics);
+        SearchResultHotspotOptimizer.stopIfInterrupted();
+        optimizeSales(results, facts);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Sales);
+        SearchResultHotspotOptimizer.stopIfInterrupted();
+        optimizeRelationships(results, facts);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Relationships);
+        SearchResultHotspotOptimizer.stopIfInterrupted();
+        optimizeDeals(results, facts, assessments, dealRules);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Deals);
+    }
+
+    // see TopicsBasedOptimizer
+    private void optimizeTopics(SearchResults results, Facts facts) {
+        var found = facts.found;
+        int showcased = 0;
+        int hotTopic = NOT_HOT;
+        var showcaseAssets = facts.topicShowcase;
+        showcaseAssets.clear();
+
+        // assets looked at before the hot topics list was first found non-empty were never hot
+        int next = facts.firstRanked;
+        while (next < found.size()) {
+            var i = next++;
+            var assetHotTopic = facts.hotRank(i);
+
+            if (hotTopic == NOT_HOT)
+                hotTopic = assetHotTopic;
+
+            if (assetHotTopic == NOT_HOT)
+                continue;
+
+            if (assetHotTopic < hotTopic) {
+                for (var surplusAsset : showcaseAssets)
+                    results.getHotspot(TopPicks).addMember(surplusAsset);
+                showcaseAssets.clear();
+                hotTopic = assetHotTopic;
+                showcased = 0;
+            }
+
+            if (assetHotTopic == hotTopic)
+                showcaseAssets.add(found.get(i));
+
+            if (++showcased > 2)
+                break;
+        }
+
+        var showcase = results.getHotspot(Showcase);
+        for (var asset : showcaseAssets)
+            showcase.addMember(asset);
+
+        while (next < found.size()) {
+            var i = next++;
+            if (hotTopic != NOT_HOT && facts.hasTopic(i, facts.ranks.topicAt(hotTopic))) {
+                showcase.addMember(found.get(i));
+                if (++showcased >= 5)
+                    break;
+            }
+        }
+
+        while (next < found.size()) {
+            var i = next++;
+            if (facts.hotRank(i) != NOT_HOT)
+                results.getHotspot(TopPicks).addMember(found.get(i));
+        }
+
+        var highlight = results.getHotspot(Highlight);
+        for (var i = 0; i < found.size(); ++i)
+            if (facts.hotRank(i) != NOT_HOT)
+                highlight.addMember(found.get(i));
+    }
+
+    // see SalesInfoBasedOptimizer
+    private void optimizeSales(SearchResults results, Facts facts) {
+        var found = facts.found;
+        var highValue = results.getHotspot(HighValue);
+
+        for (var i = 0; i < found.size(); ++i) {
+            if (highValue.contains(found.get(i)))
+                break;
+            if (facts.has(i, highValueSales))
+                highValue.addMember(found.get(i));
+        }
+
+        for (var i = 0; i < found.size(); ++i) {
+            if (!highValue.getMembers().isEmpty())
+                return;
+            if (facts.has(i, trendingSales))
+                highValue.addMember(found.get(i));
+        }
+
+        for (var i = 0; i < found.size(); ++i)
+            if (facts.has(i, steadySales) && !highValue.contains(found.get(i)))
+                highValue.addMember(found.get(i));
+    }
+
+    // see RelationshipBasedOptimizer
+    private void optimizeRelationships(SearchResults results, Facts facts) {
+        var found = facts.found;
+        var showcaseFull = !results.getHotspot(Showcase).getMembers().isEmpty();
+        var showcaseCandidateAssets = facts.partnerCandidates;
+        var showcaseAssets = facts.partnerShowcase;
+        showcaseCandidateAssets.clear();
+        showcaseAssets.clear();
+
+        for (var i = 0; i < found.size(); ++i) {
+            if (facts.level(i) != Partner)
+                continue;
+
+            var asset = found.get(i);
+            if (!showcaseAssets.isEmpty()) {
+                if (Objects.equals(groupOf(showcaseAssets.get(0).getVendor()), groupOf(asset.getVendor()))) {
+                    if (showcaseAssets.size() >= 5)
+                        results.getHotspot(TopPicks).addMember(asset);
+                    else
+                        showcaseAssets.add(asset);
+                }
+            } else {
+                var currentAssets = showcaseCandidateAssets.computeIfAbsent(groupOf(asset.getVendor()), k -> new ArrayList<>());
+                currentAssets.add(asset);
+                if (currentAssets.size() >= 3)
+                    showcaseAssets.addAll(currentAssets);
+            }
+        }
+
+        var highValue = results.getHotspot(HighValue);
+        var fold = results.getHotspot(Fold);
+        addUnlisted(highValue, facts, Partner);
+        addAll(fold, facts, Partner);
+
+        if (!showcaseFull && showcaseAssets.size() >= 3) {
+            var showcase = results.getHotspot(Showcase);
+            for (var asset : showcaseAssets)
+                showcase.addMember(asset);
+        }
+
+        addUnlisted(highValue, facts, Gold);
+        addAll(fold, facts, Gold);
+        addAll(fold, facts, Silver);
+    }
+
+    // see DealsOptimizer
+    private void optimizeDeals(SearchResults results, Facts facts, AssetAssessments assessments, DealRules rules) {
+        var found = facts.found;
+        if (facts.highestLevel == null || !rules.hasRulesFor(facts.highestLevel))
+            return;
+
+        var assessable = facts.assessable;
+        assessable.clear();
+        for (var i = 0; i < found.size(); ++i)
+            if (rules.usesEligibility(facts.highestLevel, facts.level(i)))
+                assessable.add(found.get(i));
+        var eligibility = assessable.isEmpty() ? new BitSet() : assessments.assessAll(assessable);
+
+        var assessed = 0;
+        for (var i = 0; i < found.size(); ++i) {
+            var level = facts.level(i);
+            var isDealEligible = rules.usesEligibility(facts.highestLevel, level) && eligibility.get(assessed++);
+            if (facts.columns == null) {
+                dealsOptimizer.addIfDeal(results, rules, facts.highestLevel, level, found.get(i), isDealEligible);
+                continue;
+            }
+
+            for (var rule : rules.rulesFor(facts.highestLevel, level))
+                if (rule.test(facts.columns, i, isDealEligible))
+                    results.getHotspot(Deals).addMember(found.get(i));
+        }
+    }
+
+    private static void addUnlisted(Hotspot hotspot, Facts facts, AssetVendorRelationshipLevel level) {
+        for (var i = 0; i < facts.found.size(); ++i)
+            if (facts.level(i) == level && !hotspot.contains(facts.found.get(i)))
+                hotspot.addMember(facts.found.get(i));
+    }
+
+    private static void addAll(Hotspot hotspot, Facts facts, AssetVendorRelationshipLevel level) {
+        for (var i = 0; i < facts.found.size(); ++i)
+            if (facts.level(i) == level)
+                hotspot.addMember(facts.found.get(i));
+    }
+
+    private static boolean hasTopic(Asset asset, AssetTopic topic) {
+        var assetTopics = asset.getTopics();
+        for (var i = 0; i < assetTopics.size(); ++i)
+            if (isSameTopic(topic, assetTopics.get(i)))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * What the rules need to know about each found asset, by position, along with the lists the rules work in. Each
+     * read replaces what the last one found, reusing its storage.
+     *
+     * This object is not safe to share between threads.
+     */
+    static final class Facts {
+        private final ArrayList<Asset> topicShowcase = new ArrayList<>();
+        private final HashMap<Object, ArrayList<Asset>> partnerCandidates = new HashMap<>();
+        private final ArrayList<Asset> partnerShowcase = new ArrayList<>();
+        private final ArrayList<Asset> assessable = new ArrayList<>();
+        private List<Asset> found = List.of();
+        private SearchResultsColumns columns;
+        private int[] topicRanks;
+        private int[] facts = new int[0];
+        private AssetVendorRelationshipLevel highestLevel;
+        private HotTopicRanks ranks;
+        private int firstRanked;
+
+        private void read(List<Asset> found, SearchResultsColumns columns, AssetTopicsSource hotTopicsSource, ForkJoinPool pool) {
+            HotTopicRanks ranks = null;
+            var firstRanked = found.size();
+
+            // the hot topics are asked for once per asset for as long as they come back empty, as TopicsBasedOptimizer
+            // does; assets looked at before then are judged against the list as it finally came back by later rules
+            for (var i = 0; i < found.size() && (ranks == null || ranks.isEmpty()); ++i) {
+                ranks = new HotTopicRanks(hotTopicsSource.getTopics());
+                if (!ranks.isEmpty())
+                    firstRanked = i;
+            }
+
+            start(found, columns, ranks, firstRanked);
+            if (pool == null || found.size() <= assetsPerTask)
+                read(0, found.size());
+            else
+                pool.invoke(new Reading(0, found.size()));
+            findHighestLevel();
+        }
+
+        private void read(List<Asset> found, HotTopicRanks ranks) {
+            start(found, null, ranks, ranks.isEmpty() ? found.size() : 0);
+            read(0, found.size());
+            findHighestLevel();
+        }
+
+        private void start(List<Asset> found, SearchResultsColumns columns, HotTopicRanks ranks, int firstRanked) {
+            this.found = found;
+            this.columns = columns;
+            this.ranks = ranks;
+            topicRanks = columns == null || ranks == null ? null : ranks.ranksOf(columns);
+            this.firstRanked = firstRanked;
+            if (facts.length < found.size())
+                facts = new int[found.size()];
+        }
+
+        private void findHighestLevel() {
+            var highest = -1;
+            for (var i = 0; i < found.size(); ++i)
+                highest = Math.max(highest, facts[i] & levelBits);
+            highestLevel = highest < 0 ? null : levels[highest];
+        }
+
+        private void read(int from, int to) {
+            if (columns != null) {
+                readColumns(from, to);
+                return;
+            }
+
+            for (var i = from; i < to; ++i) {
+                var asset = found.get(i);
+                var fact = asset.getVendor().getRelationshipLevel().ordinal();
+
+                var features = asset.getSalesFeatures();
+                if (features.hasRevenueAtLeast(5000_00) && features.hasMarginAtLeast(4000_00))
+                    fact |= highValueSales;
+                if (features.getTimesShownLast24Hours() >= 1000 &&
+                        features.getTimesPurchasedLast24Hours() * 200 >= features.getTimesShownLast24Hours())
+                    fact |= trendingSales;
+                if (features.getTimesShownLast30Days() >= 50000 &&
+                        features.getTimesPurchasedLast30Days() * 125 >= features.getTimesShownLast30Days())
+                    fact |= steadySales;
+
+                facts[i] = fact | ((ranks.hottestRankIn(asset) + 1) << hotRankShift);
+            }
+        }
+
+        private void readColumns(int from, int to) {
+            for (var i = from; i < to; ++i) {
+                var fact = columns.getRelationshipLevel(i).ordinal();
+
+                if (columns.hasRevenueAtLeast(i, 5000_00) && columns.hasMarginAtLeast(i, 4000_00))
+                    fact |= highValueSales;
+                if (columns.getTimesShownLast24Hours(i) >= 1000 &&
+                        columns.getTimesPurchasedLast24Hours(i) * 200 >= columns.getTimesShownLast24Hours(i))
+                    fact |= trendingSales;
+                if (columns.getTimesShownLast30Days(i) >= 50000 &&
+                        columns.getTimesPurchasedLast30Days(i) * 125 >= columns.getTimesShownLast30Days(i))
+                    fact |= steadySales;
+
+                var hotRank = NOT_HOT;
+                for (var position = columns.getTopicStart(i); position < columns.getTopicStart(i + 1); ++position) {
+                    var rank = topicRanks[columns.getTopicNumberAt(position)];
+                    if (rank != NOT_HOT && (hotRank == NOT_HOT || rank < hotRank))
+                        hotRank = rank;
+                }
+
+                facts[i] = fact | ((hotRank + 1) << hotRankShift);
+            }
+        }
+
+        boolean hasTopic(int index, AssetTopic topic) {
+            if (columns == null)
+                return FusedHotspotOptimizer.hasTopic(found.get(index), topic);
+
+            return columns.hasTopic(index, columns.getTopicNumber(topic.getId()));
+        }
+
+        AssetVendorRelationshipLevel level(int index) {
+            return levels[facts[index] & levelBits];
+        }
+
+        boolean has(int index, int sales) {
+            return (facts[index] & sales) != 0;
+        }
+
+        int hotRank(int index) {
+            return (facts[index] >>> hotRankShift) - 1;
+        }
+
+        /**
+         * Reads a range of the found assets, splitting it in two until the parts are small.
+         */
+        private final class Reading extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            Reading(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= assetsPerTask) {
+                    read(from, to);
+                    return;
+                }
+
+                var middle = (from + to) >>> 1;
+                invokeAll(new Reading(from, middle), new Reading(middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+
+/**
+ * A hot topics list compiled into a table from topic id to rank, where rank 0 is the hottest. A topic listed more
+ * than once keeps the rank of its first listing. Finding an asset's hottest topic is then one lookup per topic on
+ * the asset, rather than a scan of the whole list. When every hot topic was numbered by a registry, and their numbers
+ * are low enough for the table to stay small next to the list, topics that were numbered too are looked up by number
+ * in an array, without hashing their ids.
+ */
+final class HotTopicRanks {
+    static final int NOT_HOT = -1;
+
+    private final List<AssetTopic> topics = new ArrayList<>();
+    private final Map<String, Integer> ranks = new HashMap<>();
+    // indexed by topic number; null unless every hot topic has a small enough number
+    private final int[] ranksByNumber;
+
+    HotTopicRanks(Iterable<AssetTopic> hotTopics) {
+        var highestNumber = -1;
+        var allNumbered = true;
+        for (var topic : hotTopics) {
+            topics.add(topic);
+            ranks.putIfAbsent(topic.getId(), topics.size() - 1);
+            highestNumber = Math.max(highestNumber, topic.getNumber());
+            allNumbered &= topic.getNumber() >= 0;
+        }
+
+        // the table is made for every run, so it is only worth it while it stays near the size of the list
+        var small = highestNumber < 64 + 16 * topics.size();
+        ranksByNumber = allNumbered && small ? new int[highestNumber + 1] : null;
+        if (ranksByNumber != null) {
+            Arrays.fill(ranksByNumber, NOT_HOT);
+            for (var rank = topics.size() - 1; rank >= 0; --rank)
+                ranksByNumber[topics.get(rank).getNumber()] = rank;
+        }
+    }
+
+    boolean isEmpty() {
+        return topics.isEmpty();
+    }
+
+    /**
+     * The rank of the hottest of the asset's topics, or NOT_HOT if none of them is hot.
+     */
+    int hottestRankIn(Asset asset) {
+        if (ranks.isEmpty())
+            return NOT_HOT;
+
+        var result = NOT_HOT;
+        var assetTopics = asset.getTopics();
+        for (var i = 0; i < assetTopics.size(); ++i) {
+            var rank = rankOf(assetTopics.get(i));
+            if (rank != NOT_HOT && (result == NOT_HOT || rank < result))
+                result = rank;
+        }
+
+        return result;
+    }
+
+    private int rankOf(AssetTopic topic) {
+        var number = topic.getNumber();
+        if (ranksByNumber == null || number < 0)
+            return ranks.getOrDefault(topic.getId(), NOT_HOT);
+
+        return number < ranksByNumber.length ? ranksByNumber[number] : NOT_HOT;
+    }
+
+    /**
+     * The rank of each topic numbered in the columns, or NOT_HOT for those that are not hot.
+     */
+    int[] ranksOf(SearchResultsColumns columns) {
+        var result = new int[columns.getTopicCount()];
+        for (var topicNumber = 0; topicNumber < result.length; ++topicNumber)
+            result[topicNumber] = ranks.getOrDefault(columns.getTopicId(topicNumber), NOT_HOT);
+
+        return result;
+    }
+
+    /**
+     * The hot topic listed at a rank.
+     */
+    AssetTopic topicAt(int rank) {
+        return topics.get(rank);
+    }
+
+    /**
+     * Checks whether two topics have the same id, by their numbers if both have one.
+     */
+    static boolean isSameTopic(AssetTopic left, AssetTopic right) {
+        if (left.getNumber() >= 0 && right.getNumber() >= 0)
+            return left.getNumber() == right.getNumber();
+
+        return Objects.equals(left.getId(), right.getId());
+    }
+}
@@ -0,0 +1,205 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Remembers the hotspots the optimizer gave each list of found assets, so a search that finds the same assets in the
+ * same order gets them back without any rule being evaluated. Layouts are keyed on a hash of the found asset ids
+ * together with the versions of the hot topics and of the assessments, so a new topics snapshot or new assessments
+ * make every earlier layout unreachable; a layout is also only used with the deal rules it was made under. A key that
+ * matches is checked against the full list of ids before the layout is used, so two lists that hash alike are never
+ * confused.
+ *
+ * Members are remembered by their position among the found assets and put back from the results being optimized, so
+ * a replayed layout holds the assets found this time. Layouts expire after a fixed time, as the sales figures behind
+ * them change, and the least recently used is dropped once the cache is full.
+ *
+ * This object is safe to share between threads.
+ */
+public class HotspotLayoutCache {
+    private static final HotspotKey[] keys = HotspotKey.values();
+
+    private final int capacity;
+    private final long timeToLiveMilliseconds;
+    private final LongSupplier topicsVersion;
+    private final LongSupplier assessmentsVersion;
+    private final LongSupplier clock;
+    private final Map<Key, Layout> layouts;
+
+    // all guarded by this
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public HotspotLayoutCache(int capacity, long timeToLiveMilliseconds, LongSupplier topicsVersion, LongSupplier assessmentsVersion, LongSupplier clock) {
+        this.capacity = capacity;
+        this.timeToLiveMilliseconds = timeToLiveMilliseconds;
+        this.topicsVersion = topicsVersion;
+        this.assessmentsVersion = assessmentsVersion;
+        this.clock = clock;
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Layout> eldest) {
+                if (size() <= HotspotLayoutCache.this.capacity)
+                    return false;
+
+                ++evictions;
+                return true;
+            }
+        };
+    }
+
+    public HotspotLayoutCache(int capacity, long timeToLiveMilliseconds, LongSupplier topicsVersion, LongSupplier assessmentsVersion) {
+        this(capacity, timeToLiveMilliseconds, topicsVersion, assessmentsVersion, System::currentTimeMillis);
+    }
+
+    /**
+     * The key for the results as they are now. Taken once, before optimizing, so that a layout is never filed under
+     * versions that arrived while it was being worked out.
+     */
+    Key keyOf(SearchResults results) {
+        var found = results.getFound();
+        var hash = 0xcbf29ce484222325L;
+        for (var i = 0; i < found.size(); ++i)
+            hash = (hash ^ Objects.hashCode(found.get(i).getId())) * 0x100000001b3L;
+
+        return new Key(hash, found.size(), topicsVersion.getAsLong(), assessmentsVersion.getAsLong());
+    }
+
+    /**
+     * Fills the results' hotspots from a remembered layout, if there is one for them. The hotspots must be empty.
+     */
+    boolean replay(Key key, SearchResults results, DealRules rules) {
+        var found = results.getFound();
+        Layout layout;
+        synchronized (this) {
+            layout = layouts.get(key);
+            if (layout != null && layout.expiresAt <= clock.getAsLong()) {
+                layouts.remove(key);
+                layout = null;
+            }
+        }
+
+        // the ids are compared outside the lock, as a long list takes a while
+        var usable = layout != null && layout.rules == rules && layout.hasIdsOf(found);
+        synchronized (this) {
+            if (usable)
+                ++hits;
+            else
+                ++misses;
+        }
+        if (!usable)
+            return false;
+
+        for (var hotspotKey : keys)
+            for (var position : layout.positions[hotspotKey.ordinal()])
+                results.getHotspot(hotspotKey).addMember(found.get(position));
+
+        return true;
+    }
+
+    /**
+     * Remembers the layout of freshly optimized results under the key taken before optimizing them.
+     */
+    void remember(Key key, SearchResults results, DealRules rules) {
+        var found = results.getFound();
+        // an asset found twice is put back from its first position, which holds the same asset
+        var firstPositions = new IdentityHashMap<Asset, Integer>();
+        var ids = new Object[found.size()];
+        for (var i = 0; i < found.size(); ++i) {
+            firstPositions.putIfAbsent(found.get(i), i);
+            ids[i] = found.get(i).getId();
+        }
+
+        var positions = new int[keys.length][];
+        for (var hotspotKey : keys) {
+            var members = results.getHotspot(hotspotKey).getMembers();
+            positions[hotspotKey.ordinal()] = new int[members.size()];
+            for (var i = 0; i < members.size(); ++i) {
+                var position = firstPositions.get(members.get(i));
+                // a member that was not found cannot be put back from the found assets
+                if (position == null)
+                    return;
+                positions[hotspotKey.ordinal()][i] = position;
+            }
+        }
+
+        synchronized (this) {
+            layouts.put(key, new Layout(ids, rules, positions, clock.getAsLong() + timeToLiveMilliseconds));
+        }
+    }
+
+    public synchronized int getSize() {
+        return layouts.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    static final class Key {
+        private final long hash;
+        private final int size;
+        private final long topicsVersion;
+        private final long assessmentsVersion;
+
+        Key(long hash, int size, long topicsVersion, long assessmentsVersion) {
+            this.hash = hash;
+            this.size = size;
+            this.topicsVersion = topicsVersion;
+            this.assessmentsVersion = assessmentsVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+
+            var key = (Key) o;
+            return hash == key.hash && size == key.size && topicsVersion == key.topicsVersion && assessmentsVersion == key.assessmentsVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash) * 31 + size;
+        }
+    }
+
+    private static final class Layout {
+        private final Object[] ids;
+        private final DealRules rules;
+        // indexed by hotspot key, then member; each is a position among the found assets
+        private final int[][] positions;
+        private final long expiresAt;
+
+        Layout(Object[] ids, DealRules rules, int[][] positions, long expiresAt) {
+            this.ids = ids;
+            this.rules = rules;
+            this.positions = positions;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean hasIdsOf(List<Asset> found) {
+            if (found.size() != ids.length)
+                return false;
+            for (var i = 0; i < ids.length; ++i)
+                if (!Objects.equals(ids[i], found.get(i).getId()))
+                    return false;
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+
+/**
+ * Remembers every answer another {@link AssetAssessments} gives, so that no asset is asked about twice. Meant to
+ * last for a single request; assets are told apart by identity.
+ *
+ * This object is not safe to share between threads.
+ */
+public class MemoizingAssetAssessments implements AssetAssessments {
+    private final AssetAssessments assessments;
+    private final Map<Asset, Boolean> answers = new IdentityHashMap<>();
+
+    public MemoizingAssetAssessments(AssetAssessments assessments) {
+        this.assessments = assessments;
+    }
+
+    @Override
+    public boolean isAssetDealEligible(Asset asset) {
+        var answer = answers.get(asset);
+        if (answer == null) {
+            answer = assessments.isAssetDealEligible(asset);
+            answers.put(asset, answer);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Asks about the assets not already answered in a single batch.
+     */
+    @Override
+    public BitSet assessAll(List<Asset> assets) {
+        var unanswered = new ArrayList<Asset>();
+        for (var asset : assets)
+            if (!answers.containsKey(asset))
+                unanswered.add(asset);
+
+        if (!unanswered.isEmpty()) {
+            var eligible = assessments.assessAll(unanswered);
+            for (var i = 0; i < unanswered.size(); ++i)
+                answers.put(unanswered.get(i), eligible.get(i));
+        }
+
+        var result = new BitSet(assets.size());
+        for (var i = 0; i < assets.size(); ++i)
+            if (answers.get(assets.get(i)))
+                result.set(i);
+
+        return result;
+    }
+}
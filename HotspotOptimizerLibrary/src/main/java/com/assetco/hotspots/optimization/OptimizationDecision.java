@@ -0,0 +1,32 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+/**
+ * That an asset was put in a hotspot, and by which stage.
+ *
+ * This object is immutable.
+ */
+public final class OptimizationDecision {
+    private final OptimizationStage stage;
+    private final HotspotKey key;
+    private final Asset asset;
+
+    OptimizationDecision(OptimizationStage stage, HotspotKey key, Asset asset) {
+        this.stage = stage;
+        this.key = key;
+        this.asset = asset;
+    }
+
+    public OptimizationStage getStage() {
+        return stage;
+    }
+
+    public HotspotKey getKey() {
+        return key;
+    }
+
+    public Asset getAsset() {
+        return asset;
+    }
+}
@@ -0,0 +1,34 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+
+/**
+ * Told how each optimization run went, stage by stage. Calls are made on the thread doing the optimizing, while it
+ * works, so a listener shared between requests must be safe to share between threads and should return quickly.
+ */
+public interface OptimizationListener {
+    /**
+     * Whether to trace this run. Asked once at the start of every run, so a listener can trace a sample of them.
+     */
+    default boolean isTracing() {
+        return false;
+    }
+
+    /**
+     * A stage of a run took the given time.
+     */
+    void stageFinished(OptimizationStage stage, long nanoseconds);
+
+    /**
+     * A stage of a run added members to a hotspot. Not called for hotspots a stage added nothing to.
+     */
+    void membersAdded(OptimizationStage stage, HotspotKey key, int count);
+
+    /**
+     * Every member a traced run added, in the order they were added within each stage.
+     */
+    default void traced(List<OptimizationDecision> decisions) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.assetco.hotspots.optimization;
+
+/**
+ * The steps of one optimization run, in the order they are taken.
+ */
+public enum OptimizationStage {
+    /**
+     * Reading what the rules need from every found asset; only the fused modes do this as a step of its own.
+     */
+    Read,
+    /**
+     * The hot topics rule, TopicsBasedOptimizer: claims the showcase for the hottest topic on the page, moves the rest
+     * of its assets to top picks and highlights every asset with a hot topic.
+     */
+    Topics,
+    /**
+     * The sales rules, SalesInfoBasedOptimizer: puts assets that sold well lately in the high-value hotspot.
+     */
+    Sales,
+    /**
+     * The vendor relationship rules, RelationshipBasedOptimizer: gives the showcase to the first partner with enough
+     * assets on the page, and fills high value and the fold from partner, gold and silver vendors.
+     */
+    Relationships,
+    /**
+     * The contractual deal rules, DealsOptimizer: puts in the deals hotspot the assets the {@link DealRules} in force
+     * make eligible.
+     */
+    Deals
+}
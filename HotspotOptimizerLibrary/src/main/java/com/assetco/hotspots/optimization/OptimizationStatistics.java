@@ -0,0 +1,98 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * A listener that keeps running totals for each stage: how often it ran, how long it took in all and at most, and how
+ * many members it added to each hotspot. One run in every traceEvery is traced, and the latest traces are kept.
+ * The totals are meant to be read by whatever publishes the service's metrics.
+ *
+ * This object is safe to share between threads.
+ */
+public class OptimizationStatistics implements OptimizationListener {
+    private static final OptimizationStage[] stages = OptimizationStage.values();
+    private static final HotspotKey[] keys = HotspotKey.values();
+
+    private final int traceEvery;
+    private final int traceCapacity;
+    private final AtomicLong runsStarted = new AtomicLong();
+    private final LongAdder[] counts = new LongAdder[stages.length];
+    private final LongAdder[] totalNanoseconds = new LongAdder[stages.length];
+    private final LongAccumulator[] maximumNanoseconds = new LongAccumulator[stages.length];
+    // indexed by stage, then key
+    private final LongAdder[] membersAdded = new LongAdder[stages.length * keys.length];
+    // guarded by itself
+    private final Deque<List<OptimizationDecision>> traces = new ArrayDeque<>();
+
+    /**
+     * A traceEvery of zero or less traces nothing.
+     */
+    public OptimizationStatistics(int traceEvery, int traceCapacity) {
+        this.traceEvery = traceEvery;
+        this.traceCapacity = traceCapacity;
+        for (var stage : stages) {
+            counts[stage.ordinal()] = new LongAdder();
+            totalNanoseconds[stage.ordinal()] = new LongAdder();
+            maximumNanoseconds[stage.ordinal()] = new LongAccumulator(Math::max, 0);
+        }
+        for (var i = 0; i < membersAdded.length; ++i)
+            membersAdded[i] = new LongAdder();
+    }
+
+    @Override
+    public boolean isTracing() {
+        return traceEvery > 0 && traceCapacity > 0 && runsStarted.getAndIncrement() % traceEvery == 0;
+    }
+
+    @Override
+    public void stageFinished(OptimizationStage stage, long nanoseconds) {
+        counts[stage.ordinal()].increment();
+        totalNanoseconds[stage.ordinal()].add(nanoseconds);
+        maximumNanoseconds[stage.ordinal()].accumulate(nanoseconds);
+    }
+
+    @Override
+    public void membersAdded(OptimizationStage stage, HotspotKey key, int count) {
+        membersAdded[stage.ordinal() * keys.length + key.ordinal()].add(count);
+    }
+
+    @Override
+    public void traced(List<OptimizationDecision> decisions) {
+        synchronized (traces) {
+            traces.addLast(decisions);
+            while (traces.size() > traceCapacity)
+                traces.removeFirst();
+        }
+    }
+
+    /**
+     * How many times the stage has finished.
+     */
+    public long getCount(OptimizationStage stage) {
+        return counts[stage.ordinal()].sum();
+    }
+
+    public long getTotalNanoseconds(OptimizationStage stage) {
+        return totalNanoseconds[stage.ordinal()].sum();
+    }
+
+    public long getMaximumNanoseconds(OptimizationStage stage) {
+        return maximumNanoseconds[stage.ordinal()].get();
+    }
+
+    public long getMembersAdded(OptimizationStage stage, HotspotKey key) {
+        return membersAdded[stage.ordinal() * keys.length + key.ordinal()].sum();
+    }
+
+    /**
+     * The latest traces, oldest first.
+     */
+    public List<List<OptimizationDecision>> getTraces() {
+        synchronized (traces) {
+            return new ArrayList<>(traces);
+        }
+    }
+}
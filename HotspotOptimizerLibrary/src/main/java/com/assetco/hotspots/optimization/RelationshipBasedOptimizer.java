@@ -26,7 +26,7 @@ class RelationshipBasedOptimizer {
         Iterator<Asset> iterator = searchResults.getFound().iterator();
         // don't affect a showcase built by an earlier rule
         var showcaseFull = !searchResults.getHotspot(Showcase).getMembers().isEmpty();
-        var showcaseCandidateAssets = new HashMap<AssetVendor, ArrayList<Asset>>();
+        var showcaseCandidateAssets = new HashMap<Object, ArrayList<Asset>>();
         var showcaseAssets = new ArrayList<Asset>();
         var partnerAssets = new ArrayList<Asset>();
         var goldAssets = new ArrayList<Asset>();
@@ -47,7 +47,7 @@ class RelationshipBasedOptimizer {
             partnerAssets.add(asset);
 
             if (!showcaseAssets.isEmpty()) {
-                if (Objects.equals(showcaseAssets.get(0).getVendor(), asset.getVendor())) {
+                if (Objects.equals(groupOf(showcaseAssets.get(0).getVendor()), groupOf(asset.getVendor()))) {
                     // too many assets in showcase - put in top picks instead...
                     if (showcaseAssets.size() >= 5)
                         searchResults.getHotspot(TopPicks).addMember(asset);
@@ -56,7 +56,7 @@ class RelationshipBasedOptimizer {
                 }
             } else {
                 // add this asset to an empty showcase or showcase with same vendor in it
-                var currentAssets = showcaseCandidateAssets.computeIfAbsent(asset.getVendor(), k -> new ArrayList<>());
+                var currentAssets = showcaseCandidateAssets.computeIfAbsent(groupOf(asset.getVendor()), k -> new ArrayList<>());
                 currentAssets.add(asset);
                 // the first partner TO REACH the 3-asset minimum for a set of search
                 // results owns the showcase.
@@ -74,7 +74,7 @@ class RelationshipBasedOptimizer {
         // todo - this does not belong here!!!
         var highValueHotspot = searchResults.getHotspot(HighValue);
         for (var asset : partnerAssets)
-            if (!highValueHotspot.getMembers().contains(asset))
+            if (!highValueHotspot.contains(asset))
                 highValueHotspot.addMember(asset);
 
         // TODO - this needs to be moved to something that only manages the fold
@@ -90,7 +90,7 @@ class RelationshipBasedOptimizer {
 
         // acw-14339: gold assets should be in high value hotspots if there are no partner assets in search
         for (var asset : goldAssets)
-            if (!highValueHotspot.getMembers().contains(asset))
+            if (!highValueHotspot.contains(asset))
                 highValueHotspot.addMember(asset);
 
         // acw-14341: gold assets should appear in fold box when appropriate
@@ -101,4 +101,12 @@ class RelationshipBasedOptimizer {
         for (var asset : silverAssets)
             searchResults.getHotspot(Fold).addMember(asset);
     }
+
+    /**
+     * What a partner's assets are counted together by: the vendor's number if a registry gave it one, which holds
+     * across changes to its terms, otherwise the vendor object itself.
+     */
+    static Object groupOf(AssetVendor vendor) {
+        return vendor.getNumber() < 0 ? vendor : (Object) vendor.getNumber();
+    }
 }
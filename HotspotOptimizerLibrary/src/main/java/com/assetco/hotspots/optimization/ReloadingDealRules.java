@@ -0,0 +1,74 @@
+package com.assetco.hotspots.optimization;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+
+/**
+ * Deal rules kept in a properties file and read again once the file changes, so commercial terms can change without
+ * a restart. Call {@link #reloadIfChanged()} on a schedule. An edit that cannot be read or does not parse is reported
+ * and leaves the rules in force unchanged; {@link #getLastReloadError()} then says why, until an edit that can be used
+ * replaces them.
+ *
+ * This object is safe to share between threads.
+ */
+public class ReloadingDealRules implements DealRulesSource {
+    private final Path path;
+    private volatile DealRules rules;
+    private volatile FileTime rulesModified;
+    private volatile Exception lastReloadError;
+    // guarded by this
+    private FileTime lastModified;
+
+    /**
+     * Reads the file for the first time, failing if its rules cannot be used.
+     */
+    public ReloadingDealRules(Path path) throws IOException {
+        this.path = path;
+        this.lastModified = Files.getLastModifiedTime(path);
+        this.rules = DealRules.read(path);
+        this.rulesModified = lastModified;
+    }
+
+    @Override
+    public DealRules getRules() {
+        return rules;
+    }
+
+    /**
+     * When the file the rules in force were read from was last modified. Older than the file on disk while an edit
+     * that cannot be used is waiting to be corrected.
+     */
+    public FileTime getRulesModified() {
+        return rulesModified;
+    }
+
+    /**
+     * Why the latest edit of the file could not be used, or null if the rules in force come from the latest edit.
+     */
+    public Exception getLastReloadError() {
+        return lastReloadError;
+    }
+
+    /**
+     * Reads the file again if it was modified since it was last read. Returns true if new rules are now in force.
+     */
+    public synchronized boolean reloadIfChanged() {
+        try {
+            var modified = Files.getLastModifiedTime(path);
+            if (modified.equals(lastModified))
+                return false;
+
+            // remembered before parsing, so a broken edit is reported once rather than on every check
+            lastModified = modified;
+            rules = DealRules.read(path);
+            rulesModified = modified;
+            lastReloadError = null;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            lastReloadError = e;
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
@@ -2,8 +2,6 @@ package com.assetco.hotspots.optimization;
 
 import com.assetco.search.results.*;
 
-import java.math.*;
-
 import static com.assetco.search.results.HotspotKey.HighValue;
 
 // [jmj, 2017/jun/5]
@@ -33,15 +31,14 @@ class SalesInfoBasedOptimizer {
     public void optimize(SearchResults searchResults) {
         for (var asset : searchResults.getFound()) {
             // bug?
-            if (searchResults.getHotspot(HighValue).getMembers().contains(asset))
+            if (searchResults.getHotspot(HighValue).contains(asset))
                 break;
 
-            var delta = asset.getPurchaseInfoLast30Days().getTotalRevenue().getAmount()
-                    .subtract(asset.getPurchaseInfoLast30Days().getTotalRoyaltiesOwed().getAmount());
+            var features = asset.getSalesFeatures();
 
             // bug?
-            if (asset.getPurchaseInfoLast30Days().getTotalRevenue().getAmount().compareTo(new BigDecimal("5000.00")) >= 0
-                    && delta.compareTo(new BigDecimal("4000.00")) >= 0)
+            if (features.hasRevenueAtLeast(5000_00)
+                    && features.hasMarginAtLeast(4000_00))
                 searchResults.getHotspot(HighValue).addMember(asset);
         }
 
@@ -59,16 +56,18 @@ class SalesInfoBasedOptimizer {
             if (searchResults.getHotspot(HighValue).getMembers().size() > 0)
                 return;
 
-            if (asset.getPurchaseInfoLast24Hours().getTimesShown() >= 1000 &&
-                    asset.getPurchaseInfoLast24Hours().getTimesPurchased() * 200 >= asset.getPurchaseInfoLast24Hours().getTimesShown())
+            var features = asset.getSalesFeatures();
+            if (features.getTimesShownLast24Hours() >= 1000 &&
+                    features.getTimesPurchasedLast24Hours() * 200 >= features.getTimesShownLast24Hours())
                 searchResults.getHotspot(HighValue).addMember(asset);
         }
 
         for (var asset : searchResults.getFound()) {
-            if (searchResults.getHotspot(HighValue).getMembers().contains(asset))
+            if (searchResults.getHotspot(HighValue).contains(asset))
                 continue;
-            if (asset.getPurchaseInfoLast30Days().getTimesShown() >= 50000 &&
-                    asset.getPurchaseInfoLast30Days().getTimesPurchased() * 125 >= asset.getPurchaseInfoLast30Days().getTimesShown())
+            var features = asset.getSalesFeatures();
+            if (features.getTimesShownLast30Days() >= 50000 &&
+                    features.getTimesPurchasedLast30Days() * 125 >= features.getTimesShownLast30Days())
                 searchResults.getHotspot(HighValue).addMember(asset);
         }
     }
@@ -3,6 +3,7 @@ package com.assetco.hotspots.optimization;
 import com.assetco.search.results.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 // master optimization process
 /**
@@ -13,20 +14,115 @@ public class SearchResultHotspotOptimizer {
     private final RelationshipBasedOptimizer relationshipBasedOptimizer = new RelationshipBasedOptimizer();
     private final SalesInfoBasedOptimizer salesInfoBasedOptimizer = new SalesInfoBasedOptimizer();
     private final DealsOptimizer dealsOptimizer = new DealsOptimizer();
+    private final FusedHotspotOptimizer fusedOptimizer = new FusedHotspotOptimizer();
     private AssetTopicsSource hotTopics = ArrayList::new;
     private AssetAssessments assessments = asset -> true;
+    private DealRulesSource dealRules = DealRules::defaults;
+    private boolean fused;
+    private boolean columnar;
+    private ForkJoinPool pool;
+    private OptimizationListener listener;
+    private HotspotLayoutCache layoutCache;
 
+    /**
+     * Applies the rules to the results. A run whose thread is interrupted stops before its next stage, with a
+     * CancellationException, so a caller that gave up on it gets the thread back without waiting for the rest.
+     */
     public void optimize(SearchResults results) {
         results.clearHotspots();
+        var rules = dealRules.getRules();
+        var layoutKey = layoutCache == null ? null : layoutCache.keyOf(results);
+        if (layoutKey != null && layoutCache.replay(layoutKey, results, rules))
+            return;
+
+        // when nobody is listening the only cost is this check and the ones after each stage
+        var recorder = listener == null ? null : new StageRecorder(results, listener);
+
+        if (columnar)
+            fusedOptimizer.optimizeColumns(results, hotTopics, assessments, rules, pool, recorder);
+        else if (fused || pool != null)
+            fusedOptimizer.optimize(results, hotTopics, assessments, rules, pool, recorder);
+        else
+            optimizeInTurn(results, rules, recorder);
+
+        if (recorder != null)
+            recorder.finishRun();
+        if (layoutKey != null)
+            layoutCache.remember(layoutKey, results, rules);
+    }
+
+    private void optimizeInTurn(SearchResults results, DealRules rules, StageRecorder recorder) {
         // per ACW-18114: hot topics take precedence in the showcase even over relationships
         hotTopicsBasedOptimizer.optimize(results, hotTopics);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Topics);
+        stopIfInterrupted();
         salesInfoBasedOptimizer.optimize(results);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Sales);
+        stopIfInterrupted();
         relationshipBasedOptimizer.optimize(results);
-        dealsOptimizer.optimize(results, assessments);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Relationships);
+        stopIfInterrupted();
+        dealsOptimizer.optimize(results, assessments, rules);
+        if (recorder != null)
+            recorder.finish(OptimizationStage.Deals);
+    }
+
+    // the interrupt is left set, for whoever runs the thread to see
+    static void stopIfInterrupted() {
+        if (Thread.currentThread().isInterrupted())
+            throw new CancellationException("hotspot optimization was interrupted");
     }
 
     public void setHotTopics(AssetTopicsSource hotTopics) {
         this.hotTopics = hotTopics;
     }
     public void setAssessments(AssetAssessments assessments) { this.assessments = assessments; }
+
+    public void setDealRules(DealRulesSource dealRules) {
+        this.dealRules = dealRules;
+    }
+
+    /**
+     * Applies all the rules from a single read of the found assets. The hotspots are the same either way.
+     */
+    public void setFused(boolean fused) {
+        this.fused = fused;
+    }
+
+    /**
+     * Reads the facts the rules test from the results' columns rather than from the assets, so each is a sequential
+     * scan of a primitive array. Worth it where the same results are optimized more than once, as the columns are
+     * laid out on first use and kept with the results. Implies the fused mode.
+     */
+    public void setColumnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
+    /**
+     * Reports each run's stage timings, the number of members each stage adds to each hotspot and, on runs the
+     * listener chooses to trace, every member added and by which stage. Null, the default, reports nothing.
+     */
+    public void setListener(OptimizationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gives results whose found assets were optimized recently, in the same order, the hotspots they got then instead
+     * of applying the rules again. Runs answered from the cache are not reported to the listener. Null, the default,
+     * always applies the rules.
+     */
+    public void setLayoutCache(HotspotLayoutCache layoutCache) {
+        this.layoutCache = layoutCache;
+    }
+
+    /**
+     * Reads large pages of found assets in parallel on the given pool, for bulk jobs over many thousands of assets.
+     * Implies the fused mode; null goes back to reading on the calling thread.
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
 }
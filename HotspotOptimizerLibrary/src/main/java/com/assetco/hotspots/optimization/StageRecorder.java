@@ -0,0 +1,54 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+
+import java.util.*;
+
+/**
+ * Times one run's stages for a listener and works out what each one added by comparing hotspot sizes before and
+ * after it, so the optimizers themselves need know nothing about being watched. Only made when somebody is listening.
+ *
+ * This object is not safe to share between threads.
+ */
+final class StageRecorder {
+    private static final HotspotKey[] keys = HotspotKey.values();
+
+    private final SearchResults results;
+    private final OptimizationListener listener;
+    private final int[] sizes = new int[keys.length];
+    // null unless this run is traced
+    private final List<OptimizationDecision> decisions;
+    private long started;
+
+    StageRecorder(SearchResults results, OptimizationListener listener) {
+        this.results = results;
+        this.listener = listener;
+        decisions = listener.isTracing() ? new ArrayList<>() : null;
+        for (var key : keys)
+            sizes[key.ordinal()] = results.getHotspot(key).getMembers().size();
+        started = System.nanoTime();
+    }
+
+    void finish(OptimizationStage stage) {
+        listener.stageFinished(stage, System.nanoTime() - started);
+
+        for (var key : keys) {
+            var members = results.getHotspot(key).getMembers();
+            var before = sizes[key.ordinal()];
+            if (members.size() > before)
+                listener.membersAdded(stage, key, members.size() - before);
+            if (decisions != null)
+                for (var i = before; i < members.size(); ++i)
+                    decisions.add(new OptimizationDecision(stage, key, members.get(i)));
+            sizes[key.ordinal()] = members.size();
+        }
+
+        // the bookkeeping above is not charged to the next stage
+        started = System.nanoTime();
+    }
+
+    void finishRun() {
+        if (decisions != null)
+            listener.traced(Collections.unmodifiableList(decisions));
+    }
+}
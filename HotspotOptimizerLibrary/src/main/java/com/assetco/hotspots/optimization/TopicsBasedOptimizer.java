@@ -3,8 +3,8 @@ package com.assetco.hotspots.optimization;
 import com.assetco.search.results.*;
 
 import java.util.*;
-import java.util.function.*;
 
+import static com.assetco.hotspots.optimization.HotTopicRanks.*;
 import static com.assetco.search.results.HotspotKey.*;
 
 /**
@@ -16,28 +16,31 @@ class TopicsBasedOptimizer {
     // outer process uses return value to prevent application of other rules
     public boolean optimize(SearchResults searchResults, AssetTopicsSource hotTopicsSource) {
         int showcased = 0;
-        var hotTopics = new ArrayList<AssetTopic>();
-        AssetTopic hotTopic = null;
+        HotTopicRanks hotTopics = null;
+        // topics are tracked by rank in the hot topics list, so hotter means lower
+        int hotTopic = NOT_HOT;
 
-        // just get one iterator so we can keep looping after we've started filling teh showcase
-        Iterator<Asset> iterator = searchResults.getFound().iterator();
+        // just keep one position so we can keep looping after we've started filling teh showcase
+        var found = searchResults.getFound();
+        int next = 0;
         var showcaseAssets = new ArrayList<Asset>();
 
-        while (iterator.hasNext()) {
-            Asset asset = iterator.next();
+        while (next < found.size()) {
+            Asset asset = found.get(next++);
 
             // make sure our hot topics list is up to date
-            if (hotTopics.size() == 0)
-                hotTopicsSource.getTopics().forEach(hotTopics::add);
+            if (hotTopics == null || hotTopics.isEmpty())
+                hotTopics = new HotTopicRanks(hotTopicsSource.getTopics());
+
+            // get hottest topic for this asset and start processing for showcase/top picks
+            int assetHotTopic = hotTopics.hottestRankIn(asset);
 
             // any topic wins first time
-            if (hotTopic == null)
-                hotTopic = getHottestTopicIn(asset, hotTopics);
+            if (hotTopic == NOT_HOT)
+                hotTopic = assetHotTopic;
 
-            // get hottest topic for this asset and start processing for showcase/top picks
-            AssetTopic assetHotTopic = getHottestTopicIn(asset, hotTopics);
-            if (assetHotTopic != null) {
-                if (isHotterTopic(assetHotTopic, hotTopic, hotTopics)) {
+            if (assetHotTopic != NOT_HOT) {
+                if (assetHotTopic < hotTopic) {
                     // move showcase assets to top picks & switch to this topic
                     for (var surplusAsset : showcaseAssets)
                         searchResults.getHotspot(TopPicks).addMember(surplusAsset);
@@ -74,10 +77,10 @@ class TopicsBasedOptimizer {
         // process remaining assets to fill showcase if possible
         // TODO - this really looks wrong to me. While we are filling a claimed showcase, we just ignore all the other requirements, like highlighting?
         // -johnw
-        while (iterator.hasNext()) {
-            Asset asset = iterator.next();
+        while (next < found.size()) {
+            Asset asset = found.get(next++);
 
-            if (asset.getTopics().stream().anyMatch(getAssetTopicPredicate(hotTopic)))
+            if (hotTopic != NOT_HOT && hasTopic(asset, hotTopics.topicAt(hotTopic)))
             {
                 showcase.addMember(asset);
                 if (++showcased >= 5)
@@ -87,59 +90,33 @@ class TopicsBasedOptimizer {
 
         // per johnw's commend above, make sure that remaining hot topic assets are added
         // remaining go in top picks
-        while (iterator.hasNext()) {
-            Asset asset = iterator.next();
+        while (next < found.size()) {
+            Asset asset = found.get(next++);
 
-            if (getHottestTopicIn(asset, hotTopics) != null)
+            if (hotTopics.hottestRankIn(asset) != NOT_HOT)
                 searchResults.getHotspot(TopPicks).addMember(asset);
         }
         // make sure to at least highlight
-        var hotspotMembers = searchResults.getHotspot(Highlight);
-        searchResults.getFound().stream()
-            .filter(asset -> getHottestTopicIn(asset, hotTopics) != null)
-            .forEach(hotspotMembers::addMember);
-
-        return result;
-    }
-
-    /**
-     * Checks to see if the topic on the left is higher-priority than the topc on the right.
-     */
-    private boolean isHotterTopic(AssetTopic left, AssetTopic right, ArrayList<AssetTopic> hotTopics) {
-        var canonicalLeft = hotTopics.stream().filter(getAssetTopicPredicate(left)).findFirst().get();
-        var canonicalRight = hotTopics.stream().filter(getAssetTopicPredicate(right)).findFirst().get();
-
-        return hotTopics.indexOf(canonicalLeft) < hotTopics.indexOf(canonicalRight);
-    }
-
-    /**
-     * If the asset has any associated topics that are in the hot topics list, find the highest priority one.
-     */
-    private AssetTopic getHottestTopicIn(Asset asset, ArrayList<AssetTopic> hotTopics) {
-        for (var topic : hotTopics) {
-            if (asset.getTopics().stream().anyMatch(getAssetTopicPredicate(topic)))
-                return topic;
+        if (hotTopics != null) {
+            var hotspotMembers = searchResults.getHotspot(Highlight);
+            for (var i = 0; i < found.size(); ++i)
+                if (hotTopics.hottestRankIn(found.get(i)) != NOT_HOT)
+                    hotspotMembers.addMember(found.get(i));
         }
 
-        return null;
+        return result;
     }
 
     /**
-     * Returns a predicate for asset topics that will return true if they are equivalent to the passed-in topic.
-     * 
-     * Note: Passing in a null topic will produce a predicate that always returns false.
+     * Checks if the asset has a topic equivalent to the passed-in topic, by comparing their IDs, or their numbers when
+     * a registry numbered both.
      */
-    private Predicate<AssetTopic> getAssetTopicPredicate(AssetTopic topic) {
-        if (topic == null)
-            return assetTopic -> false;
+    private boolean hasTopic(Asset asset, AssetTopic topic) {
+        var assetTopics = asset.getTopics();
+        for (var i = 0; i < assetTopics.size(); ++i)
+            if (isSameTopic(topic, assetTopics.get(i)))
+                return true;
 
-        return assetTopic -> topicsEquivalent(topic, assetTopic);
-    }
-
-    /**
-     * Checks if two topic objects represent the same topic by comparing their IDs.
-     */
-    private boolean topicsEquivalent(AssetTopic topic, AssetTopic assetTopic) {
-        return Objects.equals(topic.getId(), assetTopic.getId());
+        return false;
     }
 }
@@ -0,0 +1,124 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static com.assetco.search.results.HotspotKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetAssessmentsTests {
+    private RecordingAssessments assessments;
+
+    @BeforeEach
+    void setup() {
+        assessments = new RecordingAssessments();
+    }
+
+    @Test
+    void assessAllSetsTheBitsOfEligibleAssets() {
+        var eligible = makeAsset(Silver);
+        var ineligible = makeAsset(Silver);
+        assessments.eligible.add(eligible);
+
+        var result = ((AssetAssessments) asset -> assessments.eligible.contains(asset)).assessAll(List.of(ineligible, eligible, eligible));
+
+        assertEquals(bits(1, 2), result);
+    }
+
+    @Test
+    void dealsAreAssessedInOneBatchOfSilverAndGoldAssets() {
+        var partner = makeAsset(Partner);
+        var silver = makeAsset(Silver);
+        var gold = makeAsset(Gold);
+        var results = new SearchResults();
+        results.addFound(partner);
+        results.addFound(silver);
+        results.addFound(makeAsset(Basic));
+        results.addFound(gold);
+        assessments.eligible.add(gold);
+
+        new DealsOptimizer().optimize(results, assessments);
+
+        assertEquals(List.of(List.of(silver, gold)), assessments.batches);
+        assertEquals(0, assessments.singleCalls);
+        assertEquals(List.of(partner, gold), results.getHotspot(Deals).getMembers());
+    }
+
+    @Test
+    void dealsDoNotAskWhenNoAssetCanUseTheAnswer() {
+        var results = new SearchResults();
+        results.addFound(makeAsset(Partner));
+        results.addFound(makeAsset(Basic));
+
+        new DealsOptimizer().optimize(results, assessments);
+
+        assertTrue(assessments.batches.isEmpty());
+    }
+
+    @Test
+    void memoizingAsksAboutEachAssetOnce() {
+        var first = makeAsset(Silver);
+        var second = makeAsset(Gold);
+        assessments.eligible.add(second);
+        var memoizing = new MemoizingAssetAssessments(assessments);
+
+        assertEquals(bits(1), memoizing.assessAll(List.of(first, second)));
+        assertEquals(bits(0), memoizing.assessAll(List.of(second, first)));
+        assertTrue(memoizing.isAssetDealEligible(second));
+
+        assertEquals(List.of(List.of(first, second)), assessments.batches);
+        assertEquals(0, assessments.singleCalls);
+    }
+
+    @Test
+    void memoizingBatchesOnlyUnansweredAssets() {
+        var first = makeAsset(Silver);
+        var second = makeAsset(Gold);
+        var memoizing = new MemoizingAssetAssessments(assessments);
+
+        memoizing.isAssetDealEligible(first);
+        memoizing.assessAll(List.of(first, second));
+
+        assertEquals(1, assessments.singleCalls);
+        assertEquals(List.of(List.of(second)), assessments.batches);
+    }
+
+    private static BitSet bits(int... indexes) {
+        var result = new BitSet();
+        for (var index : indexes)
+            result.set(index);
+        return result;
+    }
+
+    private static Asset makeAsset(AssetVendorRelationshipLevel level) {
+        var money = new Money(new BigDecimal("100000"));
+        var info = new AssetPurchaseInfo(1, 1, money, new Money(BigDecimal.ZERO));
+        return new Asset("any", "any", null, null, info, info, null, new AssetVendor("any", "any", level, 1));
+    }
+
+    private static class RecordingAssessments implements AssetAssessments {
+        private final Set<Asset> eligible = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<List<Asset>> batches = new ArrayList<>();
+        private int singleCalls;
+
+        @Override
+        public boolean isAssetDealEligible(Asset asset) {
+            ++singleCalls;
+            return eligible.contains(asset);
+        }
+
+        @Override
+        public BitSet assessAll(List<Asset> assets) {
+            batches.add(new ArrayList<>(assets));
+            var result = new BitSet();
+            for (var i = 0; i < assets.size(); ++i)
+                if (eligible.contains(assets.get(i)))
+                    result.set(i);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkHotspotOptimizerTests {
+    private static final int topicCount = 12;
+
+    private Random random;
+    private List<AssetTopic> topics;
+    private List<AssetVendor> vendors;
+    private List<Asset> catalog;
+    private Set<Object> eligibleIds;
+    private List<List<Object>> batches;
+    private int topicFetches;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setup() {
+        random = new Random(2025);
+        topics = new ArrayList<>();
+        for (var i = 0; i < topicCount; ++i)
+            topics.add(new AssetTopic("topic-" + i, "Topic " + i));
+        vendors = new ArrayList<>();
+        for (var level : AssetVendorRelationshipLevel.values())
+            for (var i = 0; i < 3; ++i)
+                vendors.add(new AssetVendor(level + "-" + i, level + " " + i, level, 0.5f));
+        catalog = new ArrayList<>();
+        for (var i = 0; i < 500; ++i)
+            catalog.add(anyAsset(i));
+        eligibleIds = new HashSet<>();
+        for (var asset : catalog)
+            if (random.nextBoolean())
+                eligibleIds.add(asset.getId());
+        batches = Collections.synchronizedList(new ArrayList<>());
+        topicFetches = 0;
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void bulkHotspotsMatchEachPageOptimizedOnItsOwn() {
+        for (var batch = 0; batch < 20; ++batch) {
+            var hotTopics = anyHotTopics();
+            var pages = new ArrayList<List<Asset>>();
+            for (var i = 0; i < 50; ++i)
+                pages.add(anyPage());
+
+            var expected = new ArrayList<SearchResults>();
+            var single = new SearchResultHotspotOptimizer();
+            single.setHotTopics(() -> hotTopics);
+            single.setAssessments(asset -> eligibleIds.contains(asset.getId()));
+            for (var page : pages) {
+                expected.add(results(page));
+                single.optimize(expected.get(expected.size() - 1));
+            }
+
+            var actual = new ArrayList<SearchResults>();
+            for (var page : pages)
+                actual.add(results(page));
+            givenOptimizer(() -> hotTopics).optimizeAll(actual);
+
+            for (var i = 0; i < pages.size(); ++i)
+                for (var key : HotspotKey.values())
+                    assertEquals(expected.get(i).getHotspot(key).getMembers(), actual.get(i).getHotspot(key).getMembers(), "batch " + batch + ", page " + i + ", " + key);
+        }
+    }
+
+    @Test
+    void hotTopicsAreFetchedOncePerBatch() {
+        var pages = List.of(results(anyPage(20)), results(anyPage(20)), results(anyPage(20)));
+
+        givenOptimizer(() -> {
+            ++topicFetches;
+            return List.of();
+        }).optimizeAll(pages);
+
+        assertEquals(1, topicFetches);
+    }
+
+    @Test
+    void eachAssetIsAssessedOncePerBatch() {
+        // on one worker, so that no two workers can ask about the same asset at once
+        pool.shutdownNow();
+        pool = new ForkJoinPool(1);
+        var pages = new ArrayList<SearchResults>();
+        for (var i = 0; i < 40; ++i)
+            pages.add(results(anyPage(100)));
+
+        givenOptimizer(ArrayList::new).optimizeAll(pages);
+
+        var assessed = new ArrayList<Object>();
+        for (var batch : batches)
+            assessed.addAll(batch);
+        assertEquals(new HashSet<>(assessed).size(), assessed.size());
+    }
+
+    @Test
+    void reportCountsResultsAndThroughput() {
+        var times = new ArrayDeque<>(List.of(1_000_000_000L, 3_000_000_000L));
+        var optimizer = new BulkHotspotOptimizer(times::remove);
+        optimizer.setForkJoinPool(pool);
+        var pages = new ArrayList<SearchResults>();
+        for (var i = 0; i < 10; ++i)
+            pages.add(results(anyPage()));
+
+        var report = optimizer.optimizeAll(pages);
+
+        assertEquals(10, report.getResultsOptimized());
+        assertEquals(2_000_000_000L, report.getElapsedNanoseconds());
+        assertEquals(5.0, report.getResultsPerSecond());
+    }
+
+    @Test
+    void emptyBatchOptimizesNothing() {
+        var report = givenOptimizer(ArrayList::new).optimizeAll(List.of());
+
+        assertEquals(0, report.getResultsOptimized());
+        assertEquals(0.0, report.getResultsPerSecond());
+        assertTrue(batches.isEmpty());
+    }
+
+    private BulkHotspotOptimizer givenOptimizer(AssetTopicsSource hotTopics) {
+        var optimizer = new BulkHotspotOptimizer();
+        optimizer.setForkJoinPool(pool);
+        optimizer.setHotTopics(hotTopics);
+        optimizer.setAssessments(new AssetAssessments() {
+            @Override
+            public boolean isAssetDealEligible(Asset asset) {
+                return eligibleIds.contains(asset.getId());
+            }
+
+            @Override
+            public BitSet assessAll(List<Asset> assets) {
+                var ids = new ArrayList<Object>();
+                for (var asset : assets)
+                    ids.add(asset.getId());
+                batches.add(ids);
+                return AssetAssessments.super.assessAll(assets);
+            }
+        });
+        return optimizer;
+    }
+
+    private static SearchResults results(List<Asset> found) {
+        var results = new SearchResults();
+        for (var asset : found)
+            results.addFound(asset);
+
+        return results;
+    }
+
+    private List<Asset> anyPage() {
+        return anyPage(random.nextInt(random.nextInt(8) == 0 ? 400 : 40));
+    }
+
+    // pages draw on one catalog, so the same assets turn up on many pages and now and then twice on one
+    private List<Asset> anyPage(int size) {
+        var result = new ArrayList<Asset>();
+        for (var i = 0; i < size; ++i)
+            result.add(catalog.get(random.nextInt(catalog.size())));
+
+        return result;
+    }
+
+    private Asset anyAsset(int index) {
+        var assetTopics = new ArrayList<AssetTopic>();
+        var topicsOnAsset = random.nextInt(4);
+        for (var i = 0; i < topicsOnAsset; ++i)
+            assetTopics.add(topics.get(random.nextInt(topicCount)));
+
+        var vendor = vendors.get(random.nextInt(vendors.size()));
+        return new Asset("asset-" + index, "Asset " + index, null, null, anyPurchaseInfo(50_000, 400), anyPurchaseInfo(1_000, 5), assetTopics, vendor);
+    }
+
+    private AssetPurchaseInfo anyPurchaseInfo(long timesShown, long timesPurchased) {
+        var shown = timesShown / 2 + random.nextInt((int) timesShown);
+        var purchased = timesPurchased / 2 + random.nextInt((int) timesPurchased);
+        var revenue = BigDecimal.valueOf(random.nextInt(2_000_000), 2);
+        var royalties = revenue.multiply(BigDecimal.valueOf(random.nextInt(100), 2)).setScale(2, RoundingMode.HALF_UP);
+        return new AssetPurchaseInfo(shown, purchased, new Money(revenue), new Money(royalties));
+    }
+
+    private List<AssetTopic> anyHotTopics() {
+        var result = new ArrayList<AssetTopic>();
+        var count = random.nextInt(6);
+        for (var i = 0; i < count; ++i) {
+            var topic = topics.get(random.nextInt(topicCount));
+            result.add(new AssetTopic(topic.getId(), topic.getDisplayName()));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingAssetAssessmentsTests {
+    private Set<Object> eligibleIds;
+    private List<List<Object>> batches;
+    private long now;
+    private CachingAssetAssessments assessments;
+
+    @BeforeEach
+    void setup() {
+        eligibleIds = new HashSet<>();
+        batches = new ArrayList<>();
+        now = 0;
+        givenCache(100, 1_000);
+    }
+
+    @Test
+    void answersAreRememberedById() {
+        eligibleIds.add("b");
+
+        assertEquals(bits(1), assessments.assessAll(assets("a", "b")));
+        assertEquals(bits(0), assessments.assessAll(assets("b", "a")));
+
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+
+    @Test
+    void onlyUnansweredAssetsAreAskedAbout() {
+        eligibleIds.add("c");
+        assessments.assessAll(assets("a"));
+
+        assertEquals(bits(2), assessments.assessAll(assets("a", "b", "c")));
+
+        assertEquals(List.of(List.of("a"), List.of("b", "c")), batches);
+    }
+
+    @Test
+    void idsRepeatedInOneBatchAreAskedAboutOnce() {
+        eligibleIds.add("a");
+
+        assertEquals(bits(0, 2), assessments.assessAll(assets("a", "b", "a")));
+
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+
+    @Test
+    void answersExpire() {
+        assessments.assessAll(assets("a"));
+
+        now = 999;
+        assessments.assessAll(assets("a"));
+        now = 1_000;
+        assessments.assessAll(assets("a"));
+
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void leastRecentlyUsedAnswerIsDroppedWhenFull() {
+        givenCache(2, 1_000);
+        assessments.assessAll(assets("a", "b"));
+        assessments.assessAll(assets("a"));
+
+        assessments.assessAll(assets("c"));
+        assessments.assessAll(assets("a", "b"));
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c"), List.of("b")), batches);
+    }
+
+    @Test
+    void singleAssessmentsUseTheCache() {
+        eligibleIds.add("a");
+
+        assertTrue(assessments.isAssetDealEligible(asset("a")));
+        assertTrue(assessments.isAssetDealEligible(asset("a")));
+
+        assertEquals(1, batches.size());
+    }
+
+    private void givenCache(int capacity, long timeToLiveMilliseconds) {
+        assessments = new CachingAssetAssessments(new AssetAssessments() {
+            @Override
+            public boolean isAssetDealEligible(Asset asset) {
+                throw new AssertionError("should be asked in a batch");
+            }
+
+            @Override
+            public BitSet assessAll(List<Asset> assets) {
+                var ids = new ArrayList<Object>();
+                var result = new BitSet();
+                for (var i = 0; i < assets.size(); ++i) {
+                    ids.add(assets.get(i).getId());
+                    if (eligibleIds.contains(assets.get(i).getId()))
+                        result.set(i);
+                }
+                batches.add(ids);
+                return result;
+            }
+        }, capacity, timeToLiveMilliseconds, () -> now);
+    }
+
+    private static BitSet bits(int... indexes) {
+        var result = new BitSet();
+        for (var index : indexes)
+            result.set(index);
+        return result;
+    }
+
+    private static List<Asset> assets(String... ids) {
+        var result = new ArrayList<Asset>();
+        for (var id : ids)
+            result.add(asset(id));
+        return result;
+    }
+
+    private static Asset asset(String id) {
+        return new Asset(id, id, null, null, null, null, null, new AssetVendor("any", "any", Silver, 1));
+    }
+}
@@ -0,0 +1,169 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingAssetTopicsSourceTests {
+    private List<AssetTopic> sourceTopics;
+    private int fetches;
+    private long now;
+    private Queue<Runnable> backgroundWork;
+    private boolean sourceFails;
+    private boolean backgroundWorkRejected;
+    private CachingAssetTopicsSource topics;
+
+    @BeforeEach
+    void setup() {
+        sourceTopics = new ArrayList<>();
+        fetches = 0;
+        now = 1_000;
+        backgroundWork = new ArrayDeque<>();
+        sourceFails = false;
+        backgroundWorkRejected = false;
+        topics = new CachingAssetTopicsSource(() -> {
+            ++fetches;
+            if (sourceFails)
+                throw new IllegalStateException("analytics is down");
+            return sourceTopics;
+        }, command -> {
+            if (backgroundWorkRejected)
+                throw new RejectedExecutionException();
+            backgroundWork.add(command);
+        }, () -> now);
+    }
+
+    @Test
+    void noTopicsBeforeTheFirstFetch() {
+        givenSourceTopics("sport");
+
+        assertFalse(topics.getTopics().iterator().hasNext());
+        assertEquals(0, topics.getVersion());
+        assertEquals(0, fetches);
+    }
+
+    @Test
+    void refreshFetchesInTheBackground() {
+        givenSourceTopics("sport", "art");
+
+        topics.refresh();
+        assertEquals(0, fetches);
+        whenBackgroundWorkRuns();
+
+        assertEquals(List.of("sport", "art"), topicIds());
+        assertEquals(1, topics.getVersion());
+    }
+
+    @Test
+    void snapshotIsNotChangedByTheSource() {
+        givenSourceTopics("sport");
+        topics.refreshNow();
+        var snapshot = topics.getSnapshot();
+
+        givenSourceTopics("art");
+
+        assertEquals(List.of("sport"), topicIds());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getTopics().clear());
+    }
+
+    @Test
+    void refreshesWaitingToRunAreFolded() {
+        topics.refresh();
+        topics.refresh();
+        topics.refresh();
+
+        whenBackgroundWorkRuns();
+
+        assertEquals(1, fetches);
+        assertEquals(1, topics.getVersion());
+    }
+
+    @Test
+    void refreshAfterAFetchStartsAnother() {
+        topics.refresh();
+        whenBackgroundWorkRuns();
+
+        topics.refresh();
+        whenBackgroundWorkRuns();
+
+        assertEquals(2, fetches);
+        assertEquals(2, topics.getVersion());
+    }
+
+    @Test
+    void ageIsCountedFromTheLatestSnapshot() {
+        now = 5_000;
+        topics.refreshNow();
+
+        now = 7_500;
+
+        assertEquals(2_500, topics.getAgeInMilliseconds());
+        assertEquals(5_000, topics.getSnapshot().getTakenAtMilliseconds());
+    }
+
+    @Test
+    void failedFetchKeepsTheCurrentSnapshot() {
+        givenSourceTopics("sport");
+        topics.refreshNow();
+
+        sourceFails = true;
+        topics.refreshNow();
+
+        assertEquals(List.of("sport"), topicIds());
+        assertEquals(1, topics.getVersion());
+    }
+
+    @Test
+    void failedFetchesAreRecorded() {
+        givenSourceTopics("sport");
+        now = 2_000;
+        topics.refreshNow();
+        assertEquals(0, topics.getFailureCount());
+        assertNull(topics.getLastFailure());
+
+        sourceFails = true;
+        now = 3_000;
+        topics.refreshNow();
+        now = 4_000;
+        topics.refreshNow();
+
+        assertEquals(List.of("sport"), topicIds());
+        assertEquals(2_000, topics.getAgeInMilliseconds());
+        assertEquals(2, topics.getFailureCount());
+        assertEquals("analytics is down", topics.getLastFailure().getMessage());
+        assertEquals(4_000, topics.getLastFailureAtMilliseconds());
+    }
+
+    @Test
+    void rejectedRefreshCanBeAskedForAgain() {
+        backgroundWorkRejected = true;
+        topics.refresh();
+
+        backgroundWorkRejected = false;
+        topics.refresh();
+
+        assertEquals(1, backgroundWork.size());
+    }
+
+    private void givenSourceTopics(String... ids) {
+        sourceTopics.clear();
+        for (var id : ids)
+            sourceTopics.add(new AssetTopic(id, id));
+    }
+
+    private void whenBackgroundWorkRuns() {
+        while (!backgroundWork.isEmpty())
+            backgroundWork.remove().run();
+    }
+
+    private List<String> topicIds() {
+        var result = new ArrayList<String>();
+        for (var topic : topics.getTopics())
+            result.add(topic.getId());
+        return result;
+    }
+}
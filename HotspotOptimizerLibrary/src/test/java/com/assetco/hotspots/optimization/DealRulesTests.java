@@ -0,0 +1,168 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealRulesTests {
+    private Properties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new Properties();
+    }
+
+    @Test
+    void defaultsAgreeWithTheTermsTheyReplaced() {
+        var random = new Random(1224);
+        var rules = DealRules.defaults();
+        for (var i = 0; i < 20_000; ++i) {
+            var asset = anyAsset(random);
+            var eligible = random.nextBoolean();
+            for (var highest : AssetVendorRelationshipLevel.values())
+                for (var level : AssetVendorRelationshipLevel.values()) {
+                    if (level.compareTo(highest) > 0)
+                        continue;
+
+                    var description = highest + "/" + level + " " + asset.getPurchaseInfoLast30Days().getTotalRevenue().getAmount()
+                            + " " + asset.getPurchaseInfoLast30Days().getTotalRoyaltiesOwed().getAmount() + " " + eligible;
+                    assertEquals(replacedTerms(highest, level, asset, eligible), timesAdded(rules, highest, level, asset, eligible), description);
+                }
+        }
+    }
+
+    @Test
+    void defaultsOnlyAskAboutSilverAndGoldAssets() {
+        var rules = DealRules.defaults();
+
+        assertTrue(rules.usesEligibility(Partner, Silver));
+        assertTrue(rules.usesEligibility(Partner, Gold));
+        assertTrue(rules.usesEligibility(Gold, Silver));
+        assertTrue(rules.usesEligibility(Silver, Silver));
+        assertFalse(rules.usesEligibility(Partner, Partner));
+        assertFalse(rules.usesEligibility(Partner, Basic));
+        assertFalse(rules.usesEligibility(Basic, Basic));
+    }
+
+    @Test
+    void rulesApplyInRuleNumberOrder() {
+        givenTerm("Gold.Gold.10.revenueAtLeast", "2.00");
+        givenTerm("Gold.Gold.2.revenueAtLeast", "1.00");
+
+        var rules = DealRules.parse(properties).rulesFor(Gold, Gold);
+
+        assertEquals(2, rules.length);
+        assertTrue(rules[0].test(features("1.00", "0"), false));
+        assertFalse(rules[1].test(features("1.00", "0"), false));
+    }
+
+    @Test
+    void pairsWithoutTermsHaveNoRules() {
+        givenTerm("Gold.Gold.1.royaltiesAtMost", "1/2");
+
+        assertEquals(0, DealRules.parse(properties).rulesFor(Partner, Gold).length);
+    }
+
+    @Test
+    void eligibilityCanBeStoodInForByLowRoyalties() {
+        givenTerm("Gold.Gold.1.requiresEligibility", "true");
+        givenTerm("Gold.Gold.1.unlessRoyaltiesAtMost", "1/4");
+
+        var rule = DealRules.parse(properties).rulesFor(Gold, Gold)[0];
+
+        assertTrue(rule.test(features("100.00", "25.00"), false));
+        assertFalse(rule.test(features("100.00", "25.01"), false));
+        assertTrue(rule.test(features("100.00", "25.01"), true));
+    }
+
+    @Test
+    void termsThatAreNotUnderstoodAreRejected() {
+        assertRejected("Gold.Gold.1.revenueAtLeast", "1.001");
+        assertRejected("Gold.Gold.1.revenueAtLeast", "lots");
+        assertRejected("Gold.Gold.1.royaltiesAtMost", "7");
+        assertRejected("Gold.Gold.1.royaltiesAtMost", "7/0");
+        assertRejected("Gold.Gold.1.requiresEligibility", "yes");
+        assertRejected("Gold.Gold.1.unlessRoyaltiesAtMost", "1/2");
+        assertRejected("Gold.Gold.1.minimumMargin", "1/2");
+        assertRejected("Gold.Gold.first.royaltiesAtMost", "1/2");
+        assertRejected("Platinum.Gold.1.royaltiesAtMost", "1/2");
+        assertRejected("Silver.Gold.1.royaltiesAtMost", "1/2");
+        assertRejected("Gold.Gold.royaltiesAtMost", "1/2");
+    }
+
+    private void givenTerm(String name, String value) {
+        properties.setProperty(name, value);
+    }
+
+    private void assertRejected(String name, String value) {
+        properties.clear();
+        givenTerm(name, value);
+
+        var error = assertThrows(IllegalArgumentException.class, () -> DealRules.parse(properties), name + "=" + value);
+        assertTrue(error.getMessage().contains(name.substring(0, name.indexOf('.'))), error.getMessage());
+    }
+
+    private static int timesAdded(DealRules rules, AssetVendorRelationshipLevel highest, AssetVendorRelationshipLevel level, Asset asset, boolean eligible) {
+        var results = new SearchResults();
+        new DealsOptimizer().addIfDeal(results, rules, highest, level, asset, eligible);
+        return results.getHotspot(HotspotKey.Deals).getMembers().size();
+    }
+
+    // the hand-written terms, as DealsOptimizer had them before they became data
+    private static int replacedTerms(AssetVendorRelationshipLevel highest, AssetVendorRelationshipLevel level, Asset asset, boolean eligible) {
+        var added = 0;
+        switch (highest) {
+            case Silver:
+                if (level == Silver)
+                    if (eligible || margin(asset, 1, 2))
+                        if (margin(asset, 7, 10) && topLine(asset, "1500.00"))
+                            ++added;
+                // falls through
+            case Gold:
+                if (level == Gold)
+                    if ((eligible || margin(asset, 1, 2)) && margin(asset, 7, 10) && topLine(asset, "1000.00"))
+                        ++added;
+                if (level == Silver)
+                    if (eligible && margin(asset, 1, 2) && topLine(asset, "1500.00"))
+                        ++added;
+                break;
+            case Partner:
+                if (level == Partner && margin(asset, 7, 10))
+                    ++added;
+                if (level == Gold && eligible && margin(asset, 1, 2) && topLine(asset, "1000.00"))
+                    ++added;
+                if (level == Silver && eligible && topLine(asset, "10000.00") && margin(asset, 1, 4))
+                    ++added;
+                break;
+        }
+
+        return added;
+    }
+
+    private static boolean topLine(Asset asset, String minimum) {
+        return asset.getPurchaseInfoLast30Days().getTotalRevenue().getAmount().compareTo(new BigDecimal(minimum)) >= 0;
+    }
+
+    private static boolean margin(Asset asset, int denominator, int numerator) {
+        var info = asset.getPurchaseInfoLast30Days();
+        return info.getTotalRevenue().getAmount().multiply(BigDecimal.valueOf(denominator))
+                .compareTo(info.getTotalRoyaltiesOwed().getAmount().multiply(BigDecimal.valueOf(numerator))) >= 0;
+    }
+
+    private static Asset anyAsset(Random random) {
+        var revenue = BigDecimal.valueOf(random.nextInt(1_500_000), 2);
+        var royalties = revenue.multiply(BigDecimal.valueOf(random.nextInt(100), 2)).setScale(2, RoundingMode.HALF_UP);
+        var info = new AssetPurchaseInfo(1, 1, new Money(revenue), new Money(royalties));
+        return new Asset("any", "any", null, null, info, info, null, null);
+    }
+
+    private static AssetSalesFeatures features(String revenue, String royalties) {
+        var info = new AssetPurchaseInfo(1, 1, new Money(new BigDecimal(revenue)), new Money(new BigDecimal(royalties)));
+        return new Asset("any", "any", null, null, info, info, null, null).getSalesFeatures();
+    }
+}
@@ -0,0 +1,276 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedHotspotOptimizerTests {
+    private static final int topicCount = 12;
+
+    private Random random;
+    private List<AssetTopic> topics;
+    private List<AssetVendor> vendors;
+
+    @BeforeEach
+    void setup() {
+        random = new Random(2024);
+        topics = new ArrayList<>();
+        for (var i = 0; i < topicCount; ++i)
+            topics.add(new AssetTopic("topic-" + i, "Topic " + i));
+        vendors = new ArrayList<>();
+        for (var level : AssetVendorRelationshipLevel.values())
+            for (var i = 0; i < 3; ++i)
+                vendors.add(new AssetVendor(level + "-" + i, level + " " + i, level, 0.5f));
+    }
+
+    @Test
+    void fusedHotspotsMatchTheOptimizersRunInTurn() {
+        for (var page = 0; page < 5_000; ++page) {
+            var found = anyPage();
+            var hotTopics = anyHotTopics();
+            var emptyFetches = random.nextInt(4) == 0 ? random.nextInt(found.size() + 2) : 0;
+            var eligible = Collections.newSetFromMap(new IdentityHashMap<Asset, Boolean>());
+            for (var asset : found)
+                if (random.nextBoolean())
+                    eligible.add(asset);
+
+            var expected = new Run(found, hotTopics, emptyFetches, eligible, false, false, null);
+            var actual = new Run(found, hotTopics, emptyFetches, eligible, true, false, null);
+            var columnar = new Run(found, hotTopics, emptyFetches, eligible, false, true, null);
+
+            assertSameRun(expected, actual, "page " + page);
+            assertSameRun(expected, columnar, "columnar page " + page);
+        }
+    }
+
+    @Test
+    void parallelHotspotsMatchTheOptimizersRunInTurn() {
+        var pool = new ForkJoinPool(4);
+        try {
+            for (var page = 0; page < 10; ++page) {
+                var found = anyPage(20_000 + random.nextInt(20_000));
+                var hotTopics = anyHotTopics();
+                var emptyFetches = page % 3 == 0 ? random.nextInt(100) : 0;
+                var eligible = Collections.newSetFromMap(new IdentityHashMap<Asset, Boolean>());
+                for (var asset : found)
+                    if (random.nextBoolean())
+                        eligible.add(asset);
+
+                var expected = new Run(found, hotTopics, emptyFetches, eligible, false, false, null);
+                var actual = new Run(found, hotTopics, emptyFetches, eligible, false, false, pool);
+                var columnar = new Run(found, hotTopics, emptyFetches, eligible, false, true, pool);
+
+                assertSameRun(expected, actual, "page " + page);
+                assertSameRun(expected, columnar, "columnar page " + page);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void columnarResultsFollowAssetsFoundAfterAnEarlierRun() {
+        var found = anyPage(30);
+        var hotTopics = List.of(topics.get(0), topics.get(1));
+        var optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setColumnar(true);
+        optimizer.setHotTopics(() -> hotTopics);
+        optimizer.setAssessments(asset -> false);
+        var results = new SearchResults();
+        for (var asset : found.subList(0, 10))
+            results.addFound(asset);
+        optimizer.optimize(results);
+
+        for (var asset : found.subList(10, found.size()))
+            results.addFound(asset);
+        optimizer.optimize(results);
+
+        var expected = new Run(found, hotTopics, 0, Set.of(), false, false, null);
+        for (var key : HotspotKey.values())
+            assertEquals(expected.results.getHotspot(key).getMembers(), results.getHotspot(key).getMembers(), key.toString());
+    }
+
+    @Test
+    void fusedResultsAreClearedBeforeEachRun() {
+        var found = anyPage();
+        var hotTopics = anyHotTopics();
+        var optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setFused(true);
+        optimizer.setHotTopics(() -> hotTopics);
+        var results = new SearchResults();
+        for (var asset : found)
+            results.addFound(asset);
+
+        optimizer.optimize(results);
+        var first = new EnumMap<HotspotKey, List<Asset>>(HotspotKey.class);
+        for (var key : HotspotKey.values())
+            first.put(key, new ArrayList<>(results.getHotspot(key).getMembers()));
+        optimizer.optimize(results);
+
+        for (var key : HotspotKey.values())
+            assertEquals(first.get(key), results.getHotspot(key).getMembers());
+    }
+
+    @Test
+    void numberedTopicsAndVendorsGetTheSameHotspotsAsPlainOnes() {
+        for (var page = 0; page < 2_000; ++page) {
+            var found = anyPage();
+            var hotTopics = anyHotTopics();
+            var eligible = Collections.newSetFromMap(new IdentityHashMap<Asset, Boolean>());
+            for (var asset : found)
+                if (random.nextBoolean())
+                    eligible.add(asset);
+            var expected = new Run(found, hotTopics, 0, eligible, false, false, null);
+
+            // the assets' topics and the hot topics come from different registries, and now and then a hot topic is
+            // not numbered at all; vendors are renegotiated halfway down the page, so one vendor has two instances
+            var assetTopics = new AssetTopicRegistry();
+            var vendorRegistry = new AssetVendorRegistry();
+            var numbered = new IdentityHashMap<Asset, Asset>();
+            for (var i = 0; i < found.size(); ++i)
+                numbered.computeIfAbsent(found.get(i), asset -> numberedCopyOf(asset, assetTopics, vendorRegistry, numbered.size() * 2 < found.size()));
+            var numberedFound = new ArrayList<Asset>();
+            for (var asset : found)
+                numberedFound.add(numbered.get(asset));
+            var numberedEligible = Collections.newSetFromMap(new IdentityHashMap<Asset, Boolean>());
+            for (var asset : eligible)
+                numberedEligible.add(numbered.get(asset));
+            var hotRegistry = new AssetTopicRegistry();
+            var numberedHotTopics = new ArrayList<AssetTopic>();
+            for (var topic : hotTopics)
+                numberedHotTopics.add(random.nextInt(10) == 0 ? topic : hotRegistry.intern(topic.getId(), topic.getDisplayName()));
+
+            for (var mode = 0; mode < 3; ++mode) {
+                var actual = new Run(numberedFound, numberedHotTopics, 0, numberedEligible, mode == 1, mode == 2, null);
+                for (var key : HotspotKey.values()) {
+                    var expectedMembers = new ArrayList<Asset>();
+                    for (var member : expected.results.getHotspot(key).getMembers())
+                        expectedMembers.add(numbered.get(member));
+                    assertEquals(expectedMembers, actual.results.getHotspot(key).getMembers(), "page " + page + ", mode " + mode + ", " + key);
+                }
+            }
+        }
+    }
+
+    @Test
+    void partnerRenegotiatedMidPageStillClaimsTheShowcase() {
+        var registry = new AssetVendorRegistry();
+        var before = registry.intern(new AssetVendor("partner", "Partner", AssetVendorRelationshipLevel.Partner, 0.3f));
+        var after = registry.intern(new AssetVendor("partner", "Partner", AssetVendorRelationshipLevel.Partner, 0.4f));
+        assertNotSame(before, after);
+        var found = List.of(assetOf(before, 0), assetOf(before, 1), assetOf(after, 2));
+
+        for (var mode = 0; mode < 3; ++mode) {
+            var run = new Run(found, List.of(), 0, Set.of(), mode == 1, mode == 2, null);
+
+            assertEquals(found, run.results.getHotspot(HotspotKey.Showcase).getMembers(), "mode " + mode);
+        }
+    }
+
+    private Asset numberedCopyOf(Asset asset, AssetTopicRegistry topicRegistry, AssetVendorRegistry vendorRegistry, boolean renegotiated) {
+        var assetTopics = new ArrayList<AssetTopic>();
+        for (var topic : asset.getTopics())
+            assetTopics.add(topicRegistry.intern(topic.getId(), topic.getDisplayName()));
+        var vendor = asset.getVendor();
+        var royaltyRate = renegotiated ? vendor.getRoyaltyRate() + 0.1f : vendor.getRoyaltyRate();
+        var numberedVendor = vendorRegistry.intern(new AssetVendor(vendor.getId(), vendor.getDisplayName(), vendor.getRelationshipLevel(), royaltyRate));
+        return new Asset(asset.getId(), asset.getTitle(), null, null, asset.getPurchaseInfoLast30Days(), asset.getPurchaseInfoLast24Hours(), assetTopics, numberedVendor);
+    }
+
+    private static Asset assetOf(AssetVendor vendor, int index) {
+        var nothingSold = new AssetPurchaseInfo(0, 0, new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+        return new Asset("asset-" + index, "Asset " + index, null, null, nothingSold, nothingSold, List.of(), vendor);
+    }
+
+    private static void assertSameRun(Run expected, Run actual, String description) {
+        for (var key : HotspotKey.values())
+            assertEquals(expected.results.getHotspot(key).getMembers(), actual.results.getHotspot(key).getMembers(), description + ", " + key);
+        assertEquals(expected.topicFetches, actual.topicFetches, description);
+        assertEquals(expected.batches, actual.batches, description);
+    }
+
+    private List<Asset> anyPage() {
+        return anyPage(random.nextInt(40));
+    }
+
+    private List<Asset> anyPage(int size) {
+        var result = new ArrayList<Asset>();
+        for (var i = 0; i < size; ++i) {
+            // the same asset is sometimes found twice
+            if (!result.isEmpty() && random.nextInt(10) == 0)
+                result.add(result.get(random.nextInt(result.size())));
+            else
+                result.add(anyAsset(i));
+        }
+
+        return result;
+    }
+
+    private Asset anyAsset(int index) {
+        var assetTopics = new ArrayList<AssetTopic>();
+        var topicsOnAsset = random.nextInt(4);
+        for (var i = 0; i < topicsOnAsset; ++i)
+            assetTopics.add(topics.get(random.nextInt(topicCount)));
+
+        // vendors are picked from a few per level so partners often have enough assets to claim the showcase
+        var vendor = vendors.get(random.nextInt(vendors.size()));
+        return new Asset("asset-" + index, "Asset " + index, null, null, anyPurchaseInfo(50_000, 400), anyPurchaseInfo(1_000, 5), assetTopics, vendor);
+    }
+
+    // figures land either side of the thresholds the rules test
+    private AssetPurchaseInfo anyPurchaseInfo(long timesShown, long timesPurchased) {
+        var shown = timesShown / 2 + random.nextInt((int) timesShown);
+        var purchased = timesPurchased / 2 + random.nextInt((int) timesPurchased);
+        var revenue = BigDecimal.valueOf(random.nextInt(2_000_000), 2);
+        var royalties = revenue.multiply(BigDecimal.valueOf(random.nextInt(100), 2)).setScale(2, RoundingMode.HALF_UP);
+        return new AssetPurchaseInfo(shown, purchased, new Money(revenue), new Money(royalties));
+    }
+
+    private List<AssetTopic> anyHotTopics() {
+        var result = new ArrayList<AssetTopic>();
+        var count = random.nextInt(6);
+        for (var i = 0; i < count; ++i) {
+            // fresh objects, and now and then the same topic twice
+            var topic = topics.get(random.nextInt(topicCount));
+            result.add(new AssetTopic(topic.getId(), topic.getDisplayName()));
+        }
+
+        return result;
+    }
+
+    private static class Run {
+        private final SearchResults results = new SearchResults();
+        private final List<List<Asset>> batches = new ArrayList<>();
+        private int topicFetches;
+
+        Run(List<Asset> found, List<AssetTopic> hotTopics, int emptyFetches, Set<Asset> eligible, boolean fused, boolean columnar, ForkJoinPool pool) {
+            for (var asset : found)
+                results.addFound(asset);
+
+            var optimizer = new SearchResultHotspotOptimizer();
+            optimizer.setFused(fused);
+            optimizer.setColumnar(columnar);
+            optimizer.setForkJoinPool(pool);
+            // the hot topics list sometimes comes back empty the first few times it is asked for
+            optimizer.setHotTopics(() -> ++topicFetches <= emptyFetches ? List.of() : hotTopics);
+            optimizer.setAssessments(new AssetAssessments() {
+                @Override
+                public boolean isAssetDealEligible(Asset asset) {
+                    return eligible.contains(asset);
+                }
+
+                @Override
+                public BitSet assessAll(List<Asset> assets) {
+                    batches.add(new ArrayList<>(assets));
+                    return AssetAssessments.super.assessAll(assets);
+                }
+            });
+            optimizer.optimize(results);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static com.assetco.hotspots.optimization.HotTopicRanks.NOT_HOT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotTopicRanksTests {
+    private HotTopicRanks ranks;
+
+    @Test
+    void hottestTopicOnTheAssetWins() {
+        givenHotTopics("a", "b", "c");
+
+        assertEquals(1, ranks.hottestRankIn(assetWithTopics("x", "c", "b")));
+        assertEquals("b", ranks.topicAt(1).getId());
+    }
+
+    @Test
+    void assetWithoutHotTopicsIsNotHot() {
+        givenHotTopics("a", "b");
+
+        assertEquals(NOT_HOT, ranks.hottestRankIn(assetWithTopics("x", "y")));
+        assertEquals(NOT_HOT, ranks.hottestRankIn(assetWithTopics()));
+    }
+
+    @Test
+    void topicsAreMatchedById() {
+        givenHotTopics("a");
+
+        assertEquals(0, ranks.hottestRankIn(assetWithTopics("a")));
+    }
+
+    @Test
+    void repeatedHotTopicKeepsItsFirstRank() {
+        givenHotTopics("a", "b", "a");
+
+        assertEquals(0, ranks.hottestRankIn(assetWithTopics("a")));
+    }
+
+    @Test
+    void noHotTopicsNeverLooksAtTheAsset() {
+        givenHotTopics();
+
+        assertTrue(ranks.isEmpty());
+        assertEquals(NOT_HOT, ranks.hottestRankIn(new Asset("any", "any", null, null, null, null, null, null)));
+    }
+
+    private void givenHotTopics(String... ids) {
+        var topics = new ArrayList<AssetTopic>();
+        for (var id : ids)
+            topics.add(new AssetTopic(id, id));
+        ranks = new HotTopicRanks(topics);
+    }
+
+    private static Asset assetWithTopics(String... ids) {
+        var topics = new ArrayList<AssetTopic>();
+        for (var id : ids)
+            topics.add(new AssetTopic(id, "topic " + id));
+        return new Asset("any", "any", null, null, null, null, topics, null);
+    }
+}
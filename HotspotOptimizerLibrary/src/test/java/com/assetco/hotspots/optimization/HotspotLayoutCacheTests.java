@@ -0,0 +1,226 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static com.assetco.search.results.HotspotKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotspotLayoutCacheTests {
+    private long topicsVersion;
+    private long assessmentsVersion;
+    private long now;
+    private int topicFetches;
+    private HotspotLayoutCache cache;
+    private SearchResultHotspotOptimizer optimizer;
+
+    @BeforeEach
+    void setup() {
+        givenCache(10, 1_000);
+    }
+
+    @Test
+    void sameIdsInTheSameOrderAreAnsweredWithoutApplyingTheRules() {
+        var first = optimize("a:sport", "b:art", "c:sport");
+        var second = optimize("a:sport", "b:art", "c:sport");
+
+        assertEquals(1, topicFetches);
+        assertEquals(1, cache.getHits());
+        assertSameLayout(first, second);
+    }
+
+    @Test
+    void replayedHotspotsHoldTheAssetsFoundThisTime() {
+        optimize("a:sport", "b:sport");
+
+        var second = optimize("a:sport", "b:sport");
+
+        assertSame(second.getFound().get(0), second.getHotspot(Showcase).getMembers().get(0));
+        assertSame(second.getFound().get(1), second.getHotspot(Showcase).getMembers().get(1));
+    }
+
+    @Test
+    void otherOrdersAndOtherAssetsAreOptimizedAfresh() {
+        optimize("a:sport", "b:art");
+
+        optimize("b:art", "a:sport");
+        optimize("a:sport");
+        optimize("a:sport", "b:art", "c:art");
+
+        assertEquals(4, topicFetches);
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void idsThatHashAlikeAreNotConfused() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        var first = optimize("Aa:sport");
+
+        var second = optimize("BB:art");
+
+        assertEquals(2, topicFetches);
+        assertEquals(1, first.getHotspot(Showcase).getMembers().size());
+        assertEquals(0, second.getHotspot(Showcase).getMembers().size());
+    }
+
+    @Test
+    void newTopicsOrAssessmentsMakeEarlierLayoutsUnreachable() {
+        optimize("a:sport");
+
+        ++topicsVersion;
+        optimize("a:sport");
+        ++assessmentsVersion;
+        optimize("a:sport");
+
+        assertEquals(3, topicFetches);
+        optimize("a:sport");
+        assertEquals(3, topicFetches);
+    }
+
+    @Test
+    void newDealRulesAreAppliedAfresh() {
+        optimize("a:sport");
+
+        optimizer.setDealRules(() -> DealRules.parse(new Properties()));
+        optimize("a:sport");
+
+        assertEquals(2, topicFetches);
+    }
+
+    @Test
+    void layoutsExpire() {
+        optimize("a:sport");
+
+        now = 999;
+        optimize("a:sport");
+        now = 1_000;
+        optimize("a:sport");
+
+        assertEquals(2, topicFetches);
+    }
+
+    @Test
+    void leastRecentlyUsedLayoutIsDroppedWhenFull() {
+        givenCache(2, 1_000);
+        optimize("a:sport");
+        optimize("b:sport");
+        optimize("a:sport");
+
+        optimize("c:sport");
+        optimize("a:sport");
+        optimize("b:sport");
+
+        assertEquals(4, topicFetches);
+        assertEquals(2, cache.getEvictions());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    void assetsFoundTwiceAreReplayedInPlace() {
+        var results = new SearchResults();
+        var asset = asset("a:sport", Partner);
+        for (var i = 0; i < 3; ++i)
+            results.addFound(asset);
+        results.addFound(asset("b:art", Partner));
+        optimizer.optimize(results);
+        var expected = layoutOf(results);
+
+        var again = new SearchResults();
+        for (var found : results.getFound())
+            again.addFound(found);
+        optimizer.optimize(again);
+
+        assertEquals(1, cache.getHits());
+        assertEquals(expected, layoutOf(again));
+    }
+
+    @Test
+    void cachedLayoutsMatchTheRulesOnRandomPages() {
+        var random = new Random(31);
+        var uncached = new SearchResultHotspotOptimizer();
+        uncached.setHotTopics(() -> List.of(new AssetTopic("sport", "Sport")));
+        for (var page = 0; page < 500; ++page) {
+            var specs = new ArrayList<String>();
+            var levels = new ArrayList<AssetVendorRelationshipLevel>();
+            var size = random.nextInt(8);
+            for (var i = 0; i < size; ++i) {
+                // the same id always has the same topic and vendor, as it would in the catalog
+                var id = random.nextInt(6);
+                specs.add((char) ('a' + id) + (id % 2 == 0 ? ":sport" : ":art"));
+                levels.add(AssetVendorRelationshipLevel.values()[id % 4]);
+            }
+
+            var expected = results(specs, levels);
+            uncached.optimize(expected);
+            var actual = results(specs, levels);
+            optimizer.optimize(actual);
+
+            assertEquals(layoutOf(expected), layoutOf(actual), "page " + page);
+        }
+        assertTrue(cache.getHits() > 0);
+    }
+
+    private void givenCache(int capacity, long timeToLiveMilliseconds) {
+        cache = new HotspotLayoutCache(capacity, timeToLiveMilliseconds, () -> topicsVersion, () -> assessmentsVersion, () -> now);
+        optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(() -> {
+            ++topicFetches;
+            return List.of(new AssetTopic("sport", "Sport"));
+        });
+        optimizer.setLayoutCache(cache);
+    }
+
+    private SearchResults optimize(String... specs) {
+        var levels = new ArrayList<AssetVendorRelationshipLevel>();
+        for (var ignored : specs)
+            levels.add(Silver);
+        var results = results(List.of(specs), levels);
+        optimizer.optimize(results);
+
+        return results;
+    }
+
+    private static SearchResults results(List<String> specs, List<AssetVendorRelationshipLevel> levels) {
+        var results = new SearchResults();
+        for (var i = 0; i < specs.size(); ++i)
+            results.addFound(asset(specs.get(i), levels.get(i)));
+
+        return results;
+    }
+
+    private static Asset asset(String spec, AssetVendorRelationshipLevel level) {
+        var idAndTopic = spec.split(":");
+        var nothingSold = new AssetPurchaseInfo(0, 0, new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+        var vendor = new AssetVendor(level + "-vendor", level + " vendor", level, 0.5f);
+        var topic = new AssetTopic(idAndTopic[1], idAndTopic[1]);
+        return new Asset(idAndTopic[0], idAndTopic[0], null, null, nothingSold, nothingSold, List.of(topic), vendor);
+    }
+
+    private static Map<HotspotKey, List<Integer>> layoutOf(SearchResults results) {
+        var result = new EnumMap<HotspotKey, List<Integer>>(HotspotKey.class);
+        for (var key : HotspotKey.values()) {
+            var positions = new ArrayList<Integer>();
+            for (var member : results.getHotspot(key).getMembers())
+                positions.add(indexOfIdentical(results.getFound(), member));
+            result.put(key, positions);
+        }
+
+        return result;
+    }
+
+    private static int indexOfIdentical(List<Asset> found, Asset asset) {
+        for (var i = 0; i < found.size(); ++i)
+            if (found.get(i) == asset)
+                return i;
+
+        return -1;
+    }
+
+    private static void assertSameLayout(SearchResults expected, SearchResults actual) {
+        assertEquals(layoutOf(expected), layoutOf(actual));
+    }
+}
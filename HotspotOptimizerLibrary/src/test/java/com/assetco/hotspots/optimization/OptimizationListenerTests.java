@@ -0,0 +1,203 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.assetco.hotspots.optimization.OptimizationStage.*;
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static com.assetco.search.results.HotspotKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationListenerTests {
+    private Recording recording;
+    private SearchResultHotspotOptimizer optimizer;
+    private SearchResults results;
+
+    @BeforeEach
+    void setup() {
+        recording = new Recording(true);
+        optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setHotTopics(() -> List.of(new AssetTopic("sport", "Sport")));
+        optimizer.setAssessments(asset -> false);
+        optimizer.setListener(recording);
+        results = new SearchResults();
+    }
+
+    @Test
+    void eachStageIsReportedOnceInOrder() {
+        givenAsset("a", "sport", Gold);
+
+        optimizer.optimize(results);
+
+        assertEquals(List.of(Topics, Sales, Relationships, OptimizationStage.Deals), recording.stages);
+    }
+
+    @Test
+    void fusedRunsAlsoReportReadingTheAssets() {
+        givenAsset("a", "sport", Gold);
+        optimizer.setFused(true);
+
+        optimizer.optimize(results);
+
+        assertEquals(List.of(Read, Topics, Sales, Relationships, OptimizationStage.Deals), recording.stages);
+    }
+
+    @Test
+    void membersAreCountedAgainstTheStageThatAddedThem() {
+        givenAsset("a", "sport", Silver);
+        for (var i = 0; i < 3; ++i)
+            givenAsset("p" + i, "art", Partner);
+
+        optimizer.optimize(results);
+
+        assertEquals(1, recording.added.get(Topics + " " + Showcase));
+        assertEquals(1, recording.added.get(Topics + " " + Highlight));
+        assertEquals(3, recording.added.get(Relationships + " " + HighValue));
+        assertEquals(4, recording.added.get(Relationships + " " + Fold));
+        assertFalse(recording.added.containsKey(Relationships + " " + Showcase));
+    }
+
+    @Test
+    void tracesNameEveryMemberInEveryMode() {
+        var random = new Random(77);
+        for (var page = 0; page < 200; ++page) {
+            results = new SearchResults();
+            var size = random.nextInt(30);
+            for (var i = 0; i < size; ++i)
+                givenAsset("asset-" + i, random.nextBoolean() ? "sport" : "art", AssetVendorRelationshipLevel.values()[random.nextInt(4)], random);
+
+            var traces = new ArrayList<List<String>>();
+            for (var mode = 0; mode < 3; ++mode) {
+                recording = new Recording(true);
+                optimizer = new SearchResultHotspotOptimizer();
+                optimizer.setHotTopics(() -> List.of(new AssetTopic("sport", "Sport")));
+                optimizer.setListener(recording);
+                optimizer.setFused(mode == 1);
+                optimizer.setColumnar(mode == 2);
+                optimizer.optimize(results);
+
+                var membersTraced = new EnumMap<HotspotKey, List<Asset>>(HotspotKey.class);
+                for (var key : HotspotKey.values())
+                    membersTraced.put(key, new ArrayList<>());
+                for (var decision : recording.decisions)
+                    membersTraced.get(decision.getKey()).add(decision.getAsset());
+                for (var key : HotspotKey.values())
+                    assertEquals(results.getHotspot(key).getMembers(), membersTraced.get(key), "page " + page + ", mode " + mode + ", " + key);
+
+                traces.add(describe(recording.decisions));
+            }
+
+            assertEquals(traces.get(0), traces.get(1), "page " + page);
+            assertEquals(traces.get(0), traces.get(2), "page " + page);
+        }
+    }
+
+    @Test
+    void untracedRunsReportNoDecisions() {
+        recording = new Recording(false);
+        optimizer.setListener(recording);
+        givenAsset("a", "sport", Gold);
+
+        optimizer.optimize(results);
+
+        assertNull(recording.decisions);
+        assertEquals(4, recording.stages.size());
+    }
+
+    @Test
+    void interruptedRunsStopAfterTheStageInProgress() {
+        givenAsset("a", "sport", Gold);
+        optimizer.setHotTopics(() -> {
+            Thread.currentThread().interrupt();
+            return List.of(new AssetTopic("sport", "Sport"));
+        });
+
+        try {
+            assertThrows(CancellationException.class, () -> optimizer.optimize(results));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(List.of(Topics), recording.stages);
+    }
+
+    @Test
+    void interruptedFusedRunsStopAfterTheStageInProgress() {
+        givenAsset("a", "sport", Gold);
+        optimizer.setFused(true);
+        optimizer.setHotTopics(() -> {
+            Thread.currentThread().interrupt();
+            return List.of(new AssetTopic("sport", "Sport"));
+        });
+
+        try {
+            assertThrows(CancellationException.class, () -> optimizer.optimize(results));
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(List.of(Read), recording.stages);
+    }
+
+    private static List<String> describe(List<OptimizationDecision> decisions) {
+        var result = new ArrayList<String>();
+        for (var decision : decisions)
+            result.add(decision.getStage() + " " + decision.getKey() + " " + decision.getAsset().getId());
+
+        return result;
+    }
+
+    private void givenAsset(String id, String topic, AssetVendorRelationshipLevel level) {
+        var nothingSold = new AssetPurchaseInfo(0, 0, new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+        var vendor = new AssetVendor(level + "-vendor", level + " vendor", level, 0.5f);
+        results.addFound(new Asset(id, id, null, null, nothingSold, nothingSold, List.of(new AssetTopic(topic, topic)), vendor));
+    }
+
+    private void givenAsset(String id, String topic, AssetVendorRelationshipLevel level, Random random) {
+        var revenue = BigDecimal.valueOf(random.nextInt(2_000_000), 2);
+        var royalties = revenue.multiply(BigDecimal.valueOf(random.nextInt(100), 2)).setScale(2, RoundingMode.HALF_UP);
+        var last30Days = new AssetPurchaseInfo(25_000 + random.nextInt(50_000), 200 + random.nextInt(400), new Money(revenue), new Money(royalties));
+        var last24Hours = new AssetPurchaseInfo(500 + random.nextInt(1_000), random.nextInt(8), new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+        var vendor = new AssetVendor(level + "-vendor", level + " vendor", level, 0.5f);
+        results.addFound(new Asset(id, id, null, null, last30Days, last24Hours, List.of(new AssetTopic(topic, topic)), vendor));
+    }
+
+    private static class Recording implements OptimizationListener {
+        private final boolean tracing;
+        private final List<OptimizationStage> stages = new ArrayList<>();
+        private final Map<String, Integer> added = new HashMap<>();
+        private List<OptimizationDecision> decisions;
+
+        Recording(boolean tracing) {
+            this.tracing = tracing;
+        }
+
+        @Override
+        public boolean isTracing() {
+            return tracing;
+        }
+
+        @Override
+        public void stageFinished(OptimizationStage stage, long nanoseconds) {
+            assertTrue(nanoseconds >= 0);
+            stages.add(stage);
+        }
+
+        @Override
+        public void membersAdded(OptimizationStage stage, HotspotKey key, int count) {
+            assertTrue(count > 0);
+            added.merge(stage + " " + key, count, Integer::sum);
+        }
+
+        @Override
+        public void traced(List<OptimizationDecision> decisions) {
+            assertNull(this.decisions);
+            this.decisions = decisions;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.assetco.hotspots.optimization;
+
+import com.assetco.search.results.*;
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+
+import static com.assetco.hotspots.optimization.OptimizationStage.*;
+import static com.assetco.search.results.HotspotKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationStatisticsTests {
+    private OptimizationStatistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = new OptimizationStatistics(3, 2);
+    }
+
+    @Test
+    void timingsAreTotalledPerStage() {
+        statistics.stageFinished(Topics, 100);
+        statistics.stageFinished(Topics, 300);
+        statistics.stageFinished(OptimizationStage.Deals, 50);
+
+        assertEquals(2, statistics.getCount(Topics));
+        assertEquals(400, statistics.getTotalNanoseconds(Topics));
+        assertEquals(300, statistics.getMaximumNanoseconds(Topics));
+        assertEquals(1, statistics.getCount(OptimizationStage.Deals));
+        assertEquals(0, statistics.getCount(Sales));
+    }
+
+    @Test
+    void membersAddedAreTotalledPerStageAndHotspot() {
+        statistics.membersAdded(Sales, HighValue, 2);
+        statistics.membersAdded(Sales, HighValue, 3);
+        statistics.membersAdded(Relationships, HighValue, 1);
+
+        assertEquals(5, statistics.getMembersAdded(Sales, HighValue));
+        assertEquals(1, statistics.getMembersAdded(Relationships, HighValue));
+        assertEquals(0, statistics.getMembersAdded(Sales, Showcase));
+    }
+
+    @Test
+    void oneRunInEveryFewIsTraced() {
+        var traced = new ArrayList<Boolean>();
+        for (var run = 0; run < 7; ++run)
+            traced.add(statistics.isTracing());
+
+        assertEquals(List.of(true, false, false, true, false, false, true), traced);
+    }
+
+    @Test
+    void onlyTheLatestTracesAreKept() {
+        var first = List.<OptimizationDecision>of();
+        var second = List.of(decision("a"));
+        var third = List.of(decision("b"), decision("c"));
+
+        statistics.traced(first);
+        statistics.traced(second);
+        statistics.traced(third);
+
+        assertEquals(List.of(second, third), statistics.getTraces());
+    }
+
+    @Test
+    void noTracingWhenTurnedOff() {
+        statistics = new OptimizationStatistics(0, 10);
+
+        assertFalse(statistics.isTracing());
+        assertFalse(statistics.isTracing());
+    }
+
+    @Test
+    void optimizerReportsToStatistics() {
+        var optimizer = new SearchResultHotspotOptimizer();
+        optimizer.setListener(statistics);
+        var results = new SearchResults();
+        results.addFound(asset("a"));
+
+        optimizer.optimize(results);
+        optimizer.optimize(results);
+
+        assertEquals(2, statistics.getCount(OptimizationStage.Deals));
+        assertEquals(2, statistics.getMembersAdded(Relationships, Fold));
+        assertEquals(1, statistics.getTraces().size());
+    }
+
+    private static OptimizationDecision decision(String assetId) {
+        return new OptimizationDecision(Topics, Showcase, asset(assetId));
+    }
+
+    private static Asset asset(String id) {
+        var nothingSold = new AssetPurchaseInfo(0, 0, new Money(BigDecimal.ZERO), new Money(BigDecimal.ZERO));
+        var vendor = new AssetVendor("v", "v", AssetVendorRelationshipLevel.Silver, 0.5f);
+        return new Asset(id, id, null, null, nothingSold, nothingSold, List.of(), vendor);
+    }
+}
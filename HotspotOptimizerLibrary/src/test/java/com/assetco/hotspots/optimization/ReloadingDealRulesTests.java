@@ -0,0 +1,88 @@
+package com.assetco.hotspots.optimization;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadingDealRulesTests {
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private long modified;
+    private ReloadingDealRules rules;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = directory.resolve("deal-rules.properties");
+        modified = 1_000_000;
+        givenFile("Partner.Partner.1.royaltiesAtMost=7/10");
+        rules = new ReloadingDealRules(file);
+    }
+
+    @Test
+    void unchangedFileIsNotReadAgain() {
+        var before = rules.getRules();
+
+        assertFalse(rules.reloadIfChanged());
+
+        assertSame(before, rules.getRules());
+        assertNull(rules.getLastReloadError());
+    }
+
+    @Test
+    void changedFileReplacesTheRules() throws IOException {
+        givenFile("Gold.Gold.1.royaltiesAtMost=1/2");
+
+        assertTrue(rules.reloadIfChanged());
+
+        assertEquals(0, rules.getRules().rulesFor(Partner, Partner).length);
+        assertEquals(1, rules.getRules().rulesFor(Gold, Gold).length);
+    }
+
+    @Test
+    void brokenEditLeavesTheRulesInForce() throws IOException {
+        var before = rules.getRules();
+        givenFile("Gold.Gold.1.royaltiesAtMost=half");
+
+        assertFalse(rules.reloadIfChanged());
+
+        assertSame(before, rules.getRules());
+        assertEquals(FileTime.fromMillis(1_060_000), rules.getRulesModified());
+        assertTrue(rules.getLastReloadError().getMessage().contains("half"));
+    }
+
+    @Test
+    void correctedEditIsPickedUpAfterABrokenOne() throws IOException {
+        givenFile("Gold.Gold.1.royaltiesAtMost=half");
+        assertFalse(rules.reloadIfChanged());
+        assertFalse(rules.reloadIfChanged());
+
+        givenFile("Gold.Gold.1.royaltiesAtMost=1/2");
+
+        assertTrue(rules.reloadIfChanged());
+        assertEquals(1, rules.getRules().rulesFor(Gold, Gold).length);
+        assertEquals(FileTime.fromMillis(modified), rules.getRulesModified());
+        assertNull(rules.getLastReloadError());
+    }
+
+    @Test
+    void brokenFileIsRejectedAtStartup() throws IOException {
+        givenFile("Gold.Gold.1.royaltiesAtMost=half");
+
+        assertThrows(IllegalArgumentException.class, () -> new ReloadingDealRules(file));
+    }
+
+    private void givenFile(String content) throws IOException {
+        Files.writeString(file, content);
+        // file systems may not tell apart writes made close together, so each write is dated well apart
+        modified += 60_000;
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+    }
+}
@@ -27,6 +27,8 @@ public class Asset {
     private final AssetPurchaseInfo purchaseInfoLast24Hours;
     private final List<AssetTopic> topics;
     private final AssetVendor vendor;
+    // made on first use; a race only makes an identical immutable copy, so no lock is needed
+    private AssetSalesFeatures salesFeatures;
 
     public Asset(
             Object id,
@@ -43,7 +45,8 @@ public class Asset {
         this.previewURI = previewURI;
         this.purchaseInfoLast30Days = purchaseInfoLast30Days;
         this.purchaseInfoLast24Hours = purchaseInfoLast24Hours;
-        this.topics = topics;
+        // a snapshot, so later changes to the caller's list do not show and reading it never wraps it again
+        this.topics = topics == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(topics));
         this.vendor = vendor;
     }
 
@@ -90,10 +93,24 @@ public class Asset {
     }
 
     /**
-     * The topics associated with this asset. This list cannot be changed.
+     * The topics associated with this asset, as they were when it was made. This list cannot be changed, and asking for
+     * it again returns the same list.
      */
     public List<AssetTopic> getTopics() {
-        return Collections.unmodifiableList(topics);
+        return topics;
+    }
+
+    /**
+     * The figures the optimizers test, derived from both purchase-info periods. Worked out once, on first use.
+     */
+    public AssetSalesFeatures getSalesFeatures() {
+        var result = salesFeatures;
+        if (result == null) {
+            result = new AssetSalesFeatures(purchaseInfoLast30Days, purchaseInfoLast24Hours);
+            salesFeatures = result;
+        }
+
+        return result;
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.assetco.search.results;
+
+/**
+ * The sales figures the optimizers test, read once from an asset's purchase info and kept flat, so each rule is a
+ * comparison of longs instead of a walk through purchase info, money and BigDecimal objects. Money that cannot be
+ * held as whole cents is still compared exactly, through {@link Money}.
+ *
+ * This object is immutable.
+ */
+public final class AssetSalesFeatures {
+    static final long factorLimit = 1 << 10;
+
+    private final Money revenueLast30Days;
+    private final Money royaltiesLast30Days;
+    private final boolean exact;
+    private final long revenueLast30DaysInCents;
+    private final long royaltiesLast30DaysInCents;
+    private final long timesShownLast30Days;
+    private final long timesPurchasedLast30Days;
+    private final long timesShownLast24Hours;
+    private final long timesPurchasedLast24Hours;
+
+    AssetSalesFeatures(AssetPurchaseInfo last30Days, AssetPurchaseInfo last24Hours) {
+        revenueLast30Days = last30Days.getTotalRevenue();
+        royaltiesLast30Days = last30Days.getTotalRoyaltiesOwed();
+        exact = revenueLast30Days.hasExactMinorUnits() && royaltiesLast30Days.hasExactMinorUnits();
+        revenueLast30DaysInCents = exact ? revenueLast30Days.getMinorUnits() : 0;
+        royaltiesLast30DaysInCents = exact ? royaltiesLast30Days.getMinorUnits() : 0;
+        timesShownLast30Days = last30Days.getTimesShown();
+        timesPurchasedLast30Days = last30Days.getTimesPurchased();
+        timesShownLast24Hours = last24Hours.getTimesShown();
+        timesPurchasedLast24Hours = last24Hours.getTimesPurchased();
+    }
+
+    /**
+     * Checks that revenue over the last 30 days is at least the given number of cents.
+     */
+    public boolean hasRevenueAtLeast(long cents) {
+        if (exact)
+            return revenueLast30DaysInCents >= cents;
+
+        return revenueLast30Days.isAtLeast(cents);
+    }
+
+    /**
+     * Checks that revenue less royalties over the last 30 days is at least the given number of cents.
+     */
+    public boolean hasMarginAtLeast(long cents) {
+        if (exact)
+            return revenueLast30DaysInCents - royaltiesLast30DaysInCents >= cents;
+
+        return revenueLast30Days.isAtLeastAfterSubtracting(royaltiesLast30Days, cents);
+    }
+
+    /**
+     * Checks that royalties over the last 30 days are at most numerator / denominator of revenue; that is, that
+     * revenue * numerator >= royalties * denominator.
+     */
+    public boolean hasRoyaltiesAtMost(long numerator, long denominator) {
+        if (exact && Math.abs(numerator) < factorLimit && Math.abs(denominator) < factorLimit)
+            return revenueLast30DaysInCents * numerator >= royaltiesLast30DaysInCents * denominator;
+
+        return Money.compareScaled(revenueLast30Days, numerator, royaltiesLast30Days, denominator) >= 0;
+    }
+
+    /**
+     * Whether both amounts are held as whole cents; the amounts in cents are 0 otherwise.
+     */
+    boolean isExact() {
+        return exact;
+    }
+
+    long getRevenueLast30DaysInCents() {
+        return revenueLast30DaysInCents;
+    }
+
+    long getRoyaltiesLast30DaysInCents() {
+        return royaltiesLast30DaysInCents;
+    }
+
+    public long getTimesShownLast30Days() {
+        return timesShownLast30Days;
+    }
+
+    public long getTimesPurchasedLast30Days() {
+        return timesPurchasedLast30Days;
+    }
+
+    public long getTimesShownLast24Hours() {
+        return timesShownLast24Hours;
+    }
+
+    public long getTimesPurchasedLast24Hours() {
+        return timesPurchasedLast24Hours;
+    }
+}
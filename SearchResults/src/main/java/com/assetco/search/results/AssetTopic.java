@@ -6,11 +6,16 @@ package com.assetco.search.results;
 public class AssetTopic {
     private final String id;
     private final String displayName;
+    private final int number;
 
     public AssetTopic(String id, String displayName) {
+        this(id, displayName, -1);
+    }
 
+    AssetTopic(String id, String displayName, int number) {
         this.id = id;
         this.displayName = displayName;
+        this.number = number;
     }
 
     /**
@@ -26,4 +31,12 @@ public class AssetTopic {
     public String getDisplayName() {
         return displayName;
     }
+
+    /**
+     * The small number every {@link AssetTopicRegistry} gives this topic's id, or -1 if the topic was not made by a
+     * registry. Two numbered topics have the same id exactly when they have the same number.
+     */
+    public int getNumber() {
+        return number;
+    }
 }
@@ -0,0 +1,46 @@
+package com.assetco.search.results;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Hands out one shared instance per topic id, so that the results of every search hold the same few topic objects
+ * instead of a copy per asset, and two topics from here with the same id are the same object. Each id is also given
+ * a small number, counting up from 0. Numbers are shared by every registry in the process, so two numbered topics
+ * have the same id exactly when they have the same number, and the rules can compare or index by number instead.
+ *
+ * A topic whose display name has changed replaces the shared instance, keeping its number; results already built
+ * keep the instance they were given.
+ *
+ * This object is safe to share between threads.
+ */
+public class AssetTopicRegistry {
+    private static final ConcurrentHashMap<String, Integer> numbers = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextNumber = new AtomicInteger();
+
+    private final ConcurrentHashMap<String, AssetTopic> topics = new ConcurrentHashMap<>();
+
+    /**
+     * The shared topic for the id, made on first asking.
+     */
+    public AssetTopic intern(String id, String displayName) {
+        var result = topics.get(id);
+        if (result != null && Objects.equals(result.getDisplayName(), displayName))
+            return result;
+
+        return topics.compute(id, (key, existing) -> {
+            if (existing != null && Objects.equals(existing.getDisplayName(), displayName))
+                return existing;
+
+            return new AssetTopic(key, displayName, numbers.computeIfAbsent(key, ignored -> nextNumber.getAndIncrement()));
+        });
+    }
+
+    /**
+     * How many different topic ids have been interned.
+     */
+    public int getSize() {
+        return topics.size();
+    }
+}
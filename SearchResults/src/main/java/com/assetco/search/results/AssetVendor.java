@@ -8,16 +8,27 @@ public class AssetVendor {
     private final String displayName;
     private final AssetVendorRelationshipLevel relationshipLevel;
     private final float royaltyRate;
+    private final int number;
 
     public AssetVendor(
             String id,
             String displayName,
             AssetVendorRelationshipLevel relationshipLevel,
             float royaltyRate) {
+        this(id, displayName, relationshipLevel, royaltyRate, -1);
+    }
+
+    AssetVendor(
+            String id,
+            String displayName,
+            AssetVendorRelationshipLevel relationshipLevel,
+            float royaltyRate,
+            int number) {
         this.id = id;
         this.displayName = displayName;
         this.relationshipLevel = relationshipLevel;
         this.royaltyRate = royaltyRate;
+        this.number = number;
     }
 
     /**
@@ -47,4 +58,12 @@ public class AssetVendor {
     public float getRoyaltyRate() {
         return royaltyRate;
     }
+
+    /**
+     * The small number every {@link AssetVendorRegistry} gives this vendor's id, or -1 if the vendor was not made by a
+     * registry. Two numbered vendors have the same id exactly when they have the same number.
+     */
+    public int getNumber() {
+        return number;
+    }
 }
@@ -0,0 +1,54 @@
+package com.assetco.search.results;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Hands out one shared instance per vendor id, so that the results of every search hold the same few vendor objects
+ * instead of a copy per asset, and two vendors from here with the same id are the same object. Each id is also given
+ * a small number, counting up from 0. Numbers are shared by every registry in the process, so two numbered vendors
+ * have the same id exactly when they have the same number.
+ *
+ * A vendor whose terms have changed replaces the shared instance, keeping its number; results already built keep the
+ * instance they were given. The rules group vendors by number, so a page built across the change still sees one
+ * vendor.
+ *
+ * This object is safe to share between threads.
+ */
+public class AssetVendorRegistry {
+    private static final ConcurrentHashMap<String, Integer> numbers = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextNumber = new AtomicInteger();
+
+    private final ConcurrentHashMap<String, AssetVendor> vendors = new ConcurrentHashMap<>();
+
+    /**
+     * The shared vendor with the same id and terms as the one given, made from it on first asking.
+     */
+    public AssetVendor intern(AssetVendor vendor) {
+        var result = vendors.get(vendor.getId());
+        if (result == vendor || (result != null && hasSameTerms(result, vendor)))
+            return result;
+
+        return vendors.compute(vendor.getId(), (key, existing) -> {
+            if (existing != null && hasSameTerms(existing, vendor))
+                return existing;
+
+            var number = numbers.computeIfAbsent(key, ignored -> nextNumber.getAndIncrement());
+            return new AssetVendor(key, vendor.getDisplayName(), vendor.getRelationshipLevel(), vendor.getRoyaltyRate(), number);
+        });
+    }
+
+    /**
+     * How many different vendor ids have been interned.
+     */
+    public int getSize() {
+        return vendors.size();
+    }
+
+    private static boolean hasSameTerms(AssetVendor left, AssetVendor right) {
+        return Objects.equals(left.getDisplayName(), right.getDisplayName())
+                && left.getRelationshipLevel() == right.getRelationshipLevel()
+                && Float.compare(left.getRoyaltyRate(), right.getRoyaltyRate()) == 0;
+    }
+}
@@ -4,23 +4,60 @@ import java.util.*;
 
 /**
  * A group of assets that require some special treatment, such as highlighting or being placed in a high-value cell, by the UI in search results.
- * 
+ *
  * This structure is mutable so that it can be tuned by later parts of the search-results-delivery pipeline.
  */
 public class Hotspot {
     private final List<Asset> members = new ArrayList<>();
+    // assets have no equality of their own, so membership is identity, which lets a hash set answer it without a scan
+    private final Set<Asset> memberSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Asset> view = new MembersView();
 
     /**
-     * Add a member to the hotspot.
+     * Add a member to the hotspot. Adding an asset that is already a member adds it again.
      */
     public void addMember(Asset asset) {
         members.add(asset);
+        memberSet.add(asset);
     }
 
     /**
-     * Get all the members in this hotspot group. The resulting list cannot be modified.
+     * Removes every member but keeps the storage, so that refilling the hotspot does not allocate.
+     */
+    void clear() {
+        members.clear();
+        memberSet.clear();
+    }
+
+    /**
+     * Checks whether an asset is a member of this hotspot group, in constant time.
+     */
+    public boolean contains(Asset asset) {
+        return memberSet.contains(asset);
+    }
+
+    /**
+     * Get all the members in this hotspot group, in the order they were added. The resulting list cannot be modified.
+     * It is a live view that is made once, so asking for it again costs nothing, and its contains is constant time.
      */
     public List<Asset> getMembers() {
-        return Collections.unmodifiableList(members);
+        return view;
+    }
+
+    private final class MembersView extends AbstractList<Asset> implements RandomAccess {
+        @Override
+        public Asset get(int index) {
+            return members.get(index);
+        }
+
+        @Override
+        public int size() {
+            return members.size();
+        }
+
+        @Override
+        public boolean contains(Object asset) {
+            return memberSet.contains(asset);
+        }
     }
 }
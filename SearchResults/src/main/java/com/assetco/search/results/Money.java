@@ -5,12 +5,35 @@ import java.util.*;
 
 /**
  * Represents an amount of money, such as the sale price of an asset, or the royalty amount owed on it.
+ *
+ * Amounts that are a whole number of cents are also kept as a long count of cents, so the comparisons below run on
+ * primitives without allocating. Any other amount falls back to exact BigDecimal arithmetic, so every comparison
+ * gives the same answer it would in BigDecimal.
  */
 public class Money {
+    // keeps scaled values and the differences of two amounts well inside a long
+    private static final long exactLimit = Long.MAX_VALUE >> 12;
+    private static final long factorLimit = 1 << 10;
+
     private final BigDecimal amount;
+    private final long minorUnits;
+    private final boolean exact;
 
     public Money(BigDecimal amount) {
         this.amount = amount;
+
+        var units = 0L;
+        var fits = false;
+        if (amount != null) {
+            try {
+                units = amount.movePointRight(2).longValueExact();
+                fits = Math.abs(units) <= exactLimit;
+            } catch (ArithmeticException e) {
+                // fractions of a cent and enormous amounts are only ever compared as BigDecimals
+            }
+        }
+        minorUnits = units;
+        exact = fits;
     }
 
     /**
@@ -26,4 +49,52 @@ public class Money {
     public BigDecimal getAmount() {
         return amount;
     }
+
+    /**
+     * Whether the amount is a whole number of cents small enough to be compared as a long.
+     */
+    public boolean hasExactMinorUnits() {
+        return exact;
+    }
+
+    /**
+     * The amount in cents. Only valid if {@link #hasExactMinorUnits()}.
+     */
+    public long getMinorUnits() {
+        if (!exact)
+            throw new ArithmeticException(amount + " is not a whole number of cents that fits a long");
+
+        return minorUnits;
+    }
+
+    /**
+     * Checks that the amount is at least the given number of cents.
+     */
+    public boolean isAtLeast(long thresholdMinorUnits) {
+        if (exact)
+            return minorUnits >= thresholdMinorUnits;
+
+        return amount.compareTo(BigDecimal.valueOf(thresholdMinorUnits, 2)) >= 0;
+    }
+
+    /**
+     * Checks that this amount less the other is at least the given number of cents.
+     */
+    public boolean isAtLeastAfterSubtracting(Money other, long thresholdMinorUnits) {
+        if (exact && other.exact && Math.abs(thresholdMinorUnits) <= exactLimit)
+            return minorUnits - other.minorUnits >= thresholdMinorUnits;
+
+        return amount.subtract(other.amount).compareTo(BigDecimal.valueOf(thresholdMinorUnits, 2)) >= 0;
+    }
+
+    /**
+     * Compares left times its factor with right times its factor, as in comparing ratios without dividing. Factors
+     * below 1024 are compared as longs.
+     */
+    public static int compareScaled(Money left, long leftFactor, Money right, long rightFactor) {
+        if (left.exact && right.exact && Math.abs(leftFactor) < factorLimit && Math.abs(rightFactor) < factorLimit)
+            return Long.compare(left.minorUnits * leftFactor, right.minorUnits * rightFactor);
+
+        return left.amount.multiply(BigDecimal.valueOf(leftFactor)).compareTo(right.amount.multiply(BigDecimal.valueOf(rightFactor)));
+    }
 }
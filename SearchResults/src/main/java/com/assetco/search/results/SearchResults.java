@@ -3,17 +3,34 @@ package com.assetco.search.results;
 import java.util.*;
 
 /**
- * Describes an overall set of search results. This object is mutable.
+ * Describes an overall set of search results. This object is mutable, and it can be emptied and filled again for
+ * another search. Emptying it empties its hotspots in place, so anyone still holding one of its Hotspot objects, or
+ * a member list, sees it emptied too; copy what has to outlive the next search.
  */
 public class SearchResults {
+    private static final HotspotKey[] keys = HotspotKey.values();
+
     private final List<Asset> found = new ArrayList<>();
-    private Map<HotspotKey, Hotspot> hotspots = new HashMap<>();
+    // indexed by key ordinal; each hotspot is made on first use and then kept, so clearing allocates nothing
+    private final Hotspot[] hotspots = new Hotspot[keys.length];
+    // made on first use and dropped when another asset is found; a race only makes an identical copy
+    private SearchResultsColumns columns;
 
     /**
      * Add another found asset to the results set.
      */
     public void addFound(Asset asset) {
         found.add(asset);
+        columns = null;
+    }
+
+    /**
+     * Empties the found assets and the hotspots in place, keeping their storage for the next search.
+     */
+    public void clear() {
+        found.clear();
+        columns = null;
+        clearHotspots();
     }
 
     /**
@@ -23,23 +40,40 @@ public class SearchResults {
         return found;
     }
 
+    /**
+     * The found assets laid out column by column, for scans over many assets. Made on first use and kept until
+     * another asset is found.
+     */
+    public SearchResultsColumns getColumns() {
+        var result = columns;
+        if (result == null) {
+            result = new SearchResultsColumns(found);
+            columns = result;
+        }
+
+        return result;
+    }
+
     /**
      * Get this results set's hotspot group for a particular key. This will create a Hotspot object if necessary.
      */
     public Hotspot getHotspot(HotspotKey key) {
-        if (hotspots.containsKey(key))
-            return hotspots.get(key);
-
-        var result = new Hotspot();
-        hotspots.put(key, result);
+        var result = hotspots[key.ordinal()];
+        if (result == null) {
+            result = new Hotspot();
+            hotspots[key.ordinal()] = result;
+        }
 
         return result;
     }
 
     /**
      * Erases all hotspot data so a later step in the search-results delivery process can re-assign them differently.
+     * The hotspots are emptied in place, so a hotspot fetched earlier is now empty, too.
      */
     public void clearHotspots() {
-        hotspots = new HashMap<>();
+        for (var hotspot : hotspots)
+            if (hotspot != null)
+                hotspot.clear();
     }
 }
@@ -0,0 +1,184 @@
+package com.assetco.search.results;
+
+import java.util.*;
+
+/**
+ * The found assets of a set of search results laid out column by column: one primitive array per figure the
+ * optimizers test, indexed by the asset's position in the results. Scanning a column reads consecutive memory,
+ * where scanning the assets follows a chain of pointers from each asset to its vendor, purchase info, money and
+ * BigDecimal objects.
+ *
+ * Topics are numbered in the order they are first seen on the page. Each asset's topic numbers sit in one shared
+ * array, those of asset i starting at topicStarts[i], so a topic test is a comparison of ints.
+ *
+ * Money that cannot be held as whole cents is compared exactly through the asset's {@link AssetSalesFeatures}.
+ *
+ * This object is immutable; it does not see assets found after it was made.
+ */
+public final class SearchResultsColumns {
+    private static final AssetVendorRelationshipLevel[] levels = AssetVendorRelationshipLevel.values();
+
+    private final List<Asset> assets;
+    private final byte[] relationshipLevels;
+    private final long[] timesShownLast30Days;
+    private final long[] timesPurchasedLast30Days;
+    private final long[] timesShownLast24Hours;
+    private final long[] timesPurchasedLast24Hours;
+    private final boolean[] exact;
+    private final long[] revenueLast30DaysInCents;
+    private final long[] royaltiesLast30DaysInCents;
+    private final int[] topicStarts;
+    private final int[] topicNumbers;
+    private final List<String> topicIds = new ArrayList<>();
+    private final Map<String, Integer> topicNumbersById = new HashMap<>();
+
+    SearchResultsColumns(List<Asset> found) {
+        assets = Collections.unmodifiableList(new ArrayList<>(found));
+        var size = assets.size();
+        relationshipLevels = new byte[size];
+        timesShownLast30Days = new long[size];
+        timesPurchasedLast30Days = new long[size];
+        timesShownLast24Hours = new long[size];
+        timesPurchasedLast24Hours = new long[size];
+        exact = new boolean[size];
+        revenueLast30DaysInCents = new long[size];
+        royaltiesLast30DaysInCents = new long[size];
+        topicStarts = new int[size + 1];
+
+        var topicCount = 0;
+        for (var asset : assets)
+            topicCount += asset.getTopics().size();
+        topicNumbers = new int[topicCount];
+
+        var next = 0;
+        for (var i = 0; i < size; ++i) {
+            var asset = assets.get(i);
+            relationshipLevels[i] = (byte) asset.getVendor().getRelationshipLevel().ordinal();
+
+            var features = asset.getSalesFeatures();
+            timesShownLast30Days[i] = features.getTimesShownLast30Days();
+            timesPurchasedLast30Days[i] = features.getTimesPurchasedLast30Days();
+            timesShownLast24Hours[i] = features.getTimesShownLast24Hours();
+            timesPurchasedLast24Hours[i] = features.getTimesPurchasedLast24Hours();
+            exact[i] = features.isExact();
+            revenueLast30DaysInCents[i] = features.getRevenueLast30DaysInCents();
+            royaltiesLast30DaysInCents[i] = features.getRoyaltiesLast30DaysInCents();
+
+            topicStarts[i] = next;
+            for (var topic : asset.getTopics())
+                topicNumbers[next++] = number(topic.getId());
+        }
+        topicStarts[size] = next;
+    }
+
+    private int number(String topicId) {
+        var result = topicNumbersById.get(topicId);
+        if (result == null) {
+            result = topicIds.size();
+            topicIds.add(topicId);
+            topicNumbersById.put(topicId, result);
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return assets.size();
+    }
+
+    public Asset getAsset(int index) {
+        return assets.get(index);
+    }
+
+    public AssetVendorRelationshipLevel getRelationshipLevel(int index) {
+        return levels[relationshipLevels[index]];
+    }
+
+    public long getTimesShownLast30Days(int index) {
+        return timesShownLast30Days[index];
+    }
+
+    public long getTimesPurchasedLast30Days(int index) {
+        return timesPurchasedLast30Days[index];
+    }
+
+    public long getTimesShownLast24Hours(int index) {
+        return timesShownLast24Hours[index];
+    }
+
+    public long getTimesPurchasedLast24Hours(int index) {
+        return timesPurchasedLast24Hours[index];
+    }
+
+    /**
+     * Same as {@link AssetSalesFeatures#hasRevenueAtLeast(long)} for the asset at the index.
+     */
+    public boolean hasRevenueAtLeast(int index, long cents) {
+        if (exact[index])
+            return revenueLast30DaysInCents[index] >= cents;
+
+        return assets.get(index).getSalesFeatures().hasRevenueAtLeast(cents);
+    }
+
+    /**
+     * Same as {@link AssetSalesFeatures#hasMarginAtLeast(long)} for the asset at the index.
+     */
+    public boolean hasMarginAtLeast(int index, long cents) {
+        if (exact[index])
+            return revenueLast30DaysInCents[index] - royaltiesLast30DaysInCents[index] >= cents;
+
+        return assets.get(index).getSalesFeatures().hasMarginAtLeast(cents);
+    }
+
+    /**
+     * Same as {@link AssetSalesFeatures#hasRoyaltiesAtMost(long, long)} for the asset at the index.
+     */
+    public boolean hasRoyaltiesAtMost(int index, long numerator, long denominator) {
+        if (exact[index] && Math.abs(numerator) < AssetSalesFeatures.factorLimit && Math.abs(denominator) < AssetSalesFeatures.factorLimit)
+            return revenueLast30DaysInCents[index] * numerator >= royaltiesLast30DaysInCents[index] * denominator;
+
+        return assets.get(index).getSalesFeatures().hasRoyaltiesAtMost(numerator, denominator);
+    }
+
+    /**
+     * How many different topics the assets have between them. Topics are numbered from 0 up to this.
+     */
+    public int getTopicCount() {
+        return topicIds.size();
+    }
+
+    /**
+     * The number given to a topic, or -1 if no asset here has it.
+     */
+    public int getTopicNumber(String topicId) {
+        var result = topicNumbersById.get(topicId);
+        return result == null ? -1 : result;
+    }
+
+    public String getTopicId(int topicNumber) {
+        return topicIds.get(topicNumber);
+    }
+
+    /**
+     * Where the asset's topic numbers start in {@link #getTopicNumberAt(int)}; those of the next asset start where
+     * they end, and those of the last asset end at the index one past the last asset.
+     */
+    public int getTopicStart(int index) {
+        return topicStarts[index];
+    }
+
+    public int getTopicNumberAt(int position) {
+        return topicNumbers[position];
+    }
+
+    /**
+     * Checks whether the asset at the index has the numbered topic.
+     */
+    public boolean hasTopic(int index, int topicNumber) {
+        for (var position = topicStarts[index]; position < topicStarts[index + 1]; ++position)
+            if (topicNumbers[position] == topicNumber)
+                return true;
+
+        return false;
+    }
+}
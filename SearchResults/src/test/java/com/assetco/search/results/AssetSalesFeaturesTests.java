@@ -0,0 +1,86 @@
+package com.assetco.search.results;
+
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetSalesFeaturesTests {
+    private AssetSalesFeatures features;
+
+    @Test
+    public void countsComeFromTheMatchingPeriod() {
+        givenFeatures(new AssetPurchaseInfo(50_000, 400, money("1.00"), money("0.50")), new AssetPurchaseInfo(1_000, 5, money("0"), money("0")));
+
+        assertEquals(50_000, features.getTimesShownLast30Days());
+        assertEquals(400, features.getTimesPurchasedLast30Days());
+        assertEquals(1_000, features.getTimesShownLast24Hours());
+        assertEquals(5, features.getTimesPurchasedLast24Hours());
+    }
+
+    @Test
+    public void thresholdsAreInclusive() {
+        givenFeatures(purchaseInfo("5000.00", "1000.00"), Any.assetPurchaseInfo());
+
+        assertTrue(features.hasRevenueAtLeast(5000_00));
+        assertFalse(features.hasRevenueAtLeast(5000_01));
+        assertTrue(features.hasMarginAtLeast(4000_00));
+        assertFalse(features.hasMarginAtLeast(4000_01));
+        assertTrue(features.hasRoyaltiesAtMost(1, 5));
+        assertFalse(features.hasRoyaltiesAtMost(1, 6));
+    }
+
+    @Test
+    public void rulesAgreeWithBigDecimal() {
+        var random = new Random(4321);
+        for (var i = 0; i < 10_000; ++i) {
+            var revenue = anyAmount(random);
+            var royalties = anyAmount(random);
+            var cents = (long) random.nextInt(2_000_000) - 1_000_000;
+            var numerator = 1 + random.nextInt(12);
+            var denominator = 1 + random.nextInt(12);
+            givenFeatures(new AssetPurchaseInfo(0, 0, new Money(revenue), new Money(royalties)), Any.assetPurchaseInfo());
+            var threshold = BigDecimal.valueOf(cents, 2);
+            var description = revenue + " / " + royalties + " / " + threshold + " / " + numerator + ":" + denominator;
+
+            assertEquals(revenue.compareTo(threshold) >= 0, features.hasRevenueAtLeast(cents), description);
+            assertEquals(revenue.subtract(royalties).compareTo(threshold) >= 0, features.hasMarginAtLeast(cents), description);
+            assertEquals(
+                    revenue.multiply(BigDecimal.valueOf(numerator)).compareTo(royalties.multiply(BigDecimal.valueOf(denominator))) >= 0,
+                    features.hasRoyaltiesAtMost(numerator, denominator),
+                    description);
+        }
+    }
+
+    @Test
+    public void assetWorksItsFeaturesOutOnce() {
+        var asset = Any.asset();
+
+        assertSame(asset.getSalesFeatures(), asset.getSalesFeatures());
+    }
+
+    private void givenFeatures(AssetPurchaseInfo last30Days, AssetPurchaseInfo last24Hours) {
+        features = new AssetSalesFeatures(last30Days, last24Hours);
+    }
+
+    private static AssetPurchaseInfo purchaseInfo(String revenue, String royalties) {
+        return new AssetPurchaseInfo(0, 0, money(revenue), money(royalties));
+    }
+
+    private static Money money(String amount) {
+        return new Money(new BigDecimal(amount));
+    }
+
+    private static BigDecimal anyAmount(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 2);
+            case 1:
+                return BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 3);
+            default:
+                return BigDecimal.valueOf(random.nextLong(), random.nextInt(3));
+        }
+    }
+}
@@ -6,7 +6,7 @@ import java.math.*;
 import java.net.*;
 import java.util.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AssetTests {
 
@@ -34,5 +34,36 @@ public class AssetTests {
         assertEquals(topics, asset.getTopics());
         assertEquals(vendor, asset.getVendor());
     }
+
+    @Test
+    public void topicsAreTakenWhenMadeAndCannotBeChanged() {
+        var topic = Any.anyTopic();
+        var topics = new ArrayList<AssetTopic>();
+        topics.add(topic);
+
+        var asset = withTopics(topics);
+        topics.add(Any.anyTopic());
+
+        assertEquals(List.of(topic), asset.getTopics());
+        assertSame(asset.getTopics(), asset.getTopics());
+        assertThrows(UnsupportedOperationException.class, () -> asset.getTopics().add(Any.anyTopic()));
+    }
+
+    @Test
+    public void topicsMayHoldNull() {
+        var topics = new ArrayList<AssetTopic>();
+        topics.add(null);
+
+        assertEquals(topics, withTopics(topics).getTopics());
+    }
+
+    @Test
+    public void noTopicsMeansAnEmptyList() {
+        assertEquals(List.of(), withTopics(null).getTopics());
+    }
+
+    private static Asset withTopics(List<AssetTopic> topics) {
+        return new Asset(Any.string(), Any.string(), null, null, Any.assetPurchaseInfo(), Any.assetPurchaseInfo(), topics, Any.vendor());
+    }
 }
 
@@ -0,0 +1,95 @@
+package com.assetco.search.results;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetTopicRegistryTests {
+    private AssetTopicRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        registry = new AssetTopicRegistry();
+    }
+
+    @Test
+    public void sameIdGivesSameInstance() {
+        var id = Any.string();
+        var displayName = Any.string();
+
+        var first = registry.intern(id, displayName);
+        var second = registry.intern(new String(id), displayName);
+
+        assertSame(first, second);
+        assertEquals(id, first.getId());
+        assertEquals(displayName, first.getDisplayName());
+        assertEquals(1, registry.getSize());
+    }
+
+    @Test
+    public void idsAreNumberedInTheOrderFirstSeen() {
+        var first = registry.intern(Any.string(), "B");
+        var second = registry.intern(Any.string(), "A");
+
+        assertTrue(first.getNumber() >= 0);
+        assertTrue(second.getNumber() > first.getNumber());
+        assertEquals(-1, Any.anyTopic().getNumber());
+    }
+
+    @Test
+    public void everyRegistryGivesAnIdTheSameNumber() {
+        var id = Any.string();
+        var topic = registry.intern(id, "here");
+
+        var elsewhere = new AssetTopicRegistry().intern(id, "there");
+
+        assertNotSame(topic, elsewhere);
+        assertEquals(topic.getNumber(), elsewhere.getNumber());
+    }
+
+    @Test
+    public void newDisplayNameReplacesInstanceButKeepsNumber() {
+        registry.intern("x", "first");
+        var old = registry.intern("a", "old");
+
+        var renamed = registry.intern("a", "new");
+
+        assertNotSame(old, renamed);
+        assertEquals("new", renamed.getDisplayName());
+        assertEquals(old.getNumber(), renamed.getNumber());
+        assertSame(renamed, registry.intern("a", "new"));
+        assertEquals(2, registry.getSize());
+    }
+
+    @Test
+    public void threadsInterningTogetherShareInstancesAndNumbers() throws Exception {
+        var pool = Executors.newFixedThreadPool(4);
+        try {
+            var tasks = new ArrayList<Callable<List<AssetTopic>>>();
+            for (var thread = 0; thread < 4; ++thread)
+                tasks.add(() -> {
+                    var result = new ArrayList<AssetTopic>();
+                    for (var i = 0; i < 1_000; ++i)
+                        result.add(registry.intern("topic-" + i, "Topic " + i));
+                    return result;
+                });
+
+            var results = pool.invokeAll(tasks);
+            var numbers = new HashSet<Integer>();
+            for (var i = 0; i < 1_000; ++i) {
+                var topic = results.get(0).get().get(i);
+                for (var result : results)
+                    assertSame(topic, result.get().get(i));
+                numbers.add(topic.getNumber());
+            }
+
+            assertEquals(1_000, numbers.size());
+            assertTrue(numbers.stream().allMatch(number -> number >= 0));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.assetco.search.results;
+
+import org.junit.jupiter.api.*;
+
+import static com.assetco.search.results.AssetVendorRelationshipLevel.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetVendorRegistryTests {
+    private AssetVendorRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        registry = new AssetVendorRegistry();
+    }
+
+    @Test
+    public void sameIdAndTermsGiveSameInstance() {
+        var first = registry.intern(new AssetVendor("v", "Vendor", Gold, 0.3f));
+        var second = registry.intern(new AssetVendor("v", "Vendor", Gold, 0.3f));
+
+        assertSame(first, second);
+        assertEquals("v", first.getId());
+        assertEquals("Vendor", first.getDisplayName());
+        assertEquals(Gold, first.getRelationshipLevel());
+        assertEquals(0.3f, first.getRoyaltyRate());
+        assertTrue(first.getNumber() >= 0);
+        assertEquals(1, registry.getSize());
+    }
+
+    @Test
+    public void newTermsReplaceInstanceButKeepNumber() {
+        registry.intern(new AssetVendor("w", "Other", Basic, 0.1f));
+        var gold = registry.intern(new AssetVendor("v", "Vendor", Gold, 0.3f));
+
+        var partner = registry.intern(new AssetVendor("v", "Vendor", Partner, 0.3f));
+        var renegotiated = registry.intern(new AssetVendor("v", "Vendor", Partner, 0.4f));
+
+        assertEquals(Gold, gold.getRelationshipLevel());
+        assertEquals(Partner, partner.getRelationshipLevel());
+        assertEquals(0.4f, renegotiated.getRoyaltyRate());
+        assertEquals(gold.getNumber(), renegotiated.getNumber());
+        assertEquals(gold.getNumber(), partner.getNumber());
+        assertEquals(2, registry.getSize());
+    }
+
+    @Test
+    public void everyRegistryGivesAnIdTheSameNumber() {
+        var vendor = registry.intern(new AssetVendor("v", "Vendor", Gold, 0.3f));
+        var other = registry.intern(new AssetVendor("w", "Other", Gold, 0.3f));
+
+        var elsewhere = new AssetVendorRegistry().intern(new AssetVendor("v", "Vendor", Gold, 0.3f));
+
+        assertNotSame(vendor, elsewhere);
+        assertEquals(vendor.getNumber(), elsewhere.getNumber());
+        assertNotEquals(vendor.getNumber(), other.getNumber());
+    }
+
+    @Test
+    public void vendorsNotFromARegistryHaveNoNumber() {
+        assertEquals(-1, new AssetVendor("v", "Vendor", Gold, 0.3f).getNumber());
+    }
+}
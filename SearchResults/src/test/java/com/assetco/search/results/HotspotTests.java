@@ -0,0 +1,74 @@
+package com.assetco.search.results;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotspotTests {
+    private Hotspot hotspot;
+
+    @BeforeEach
+    public void setup() {
+        hotspot = new Hotspot();
+    }
+
+    @Test
+    public void membersKeepTheOrderTheyWereAddedIn() {
+        var first = Any.asset();
+        var second = Any.asset();
+        var third = Any.asset();
+
+        whenAddMembers(second, first, third);
+
+        assertEquals(List.of(second, first, third), hotspot.getMembers());
+    }
+
+    @Test
+    public void addingAMemberTwiceListsItTwice() {
+        var asset = Any.asset();
+
+        whenAddMembers(asset, Any.asset(), asset);
+
+        assertEquals(3, hotspot.getMembers().size());
+        assertSame(asset, hotspot.getMembers().get(2));
+    }
+
+    @Test
+    public void containsOnlyMembers() {
+        var member = Any.asset();
+        var nonMember = Any.asset();
+
+        whenAddMembers(member);
+
+        assertTrue(hotspot.contains(member));
+        assertFalse(hotspot.contains(nonMember));
+        assertTrue(hotspot.getMembers().contains(member));
+        assertFalse(hotspot.getMembers().contains(nonMember));
+    }
+
+    @Test
+    public void membersAreALiveViewThatIsOnlyMadeOnce() {
+        var members = hotspot.getMembers();
+        var asset = Any.asset();
+
+        whenAddMembers(asset);
+
+        assertSame(members, hotspot.getMembers());
+        assertTrue(members.contains(asset));
+    }
+
+    @Test
+    public void membersCannotBeChanged() {
+        whenAddMembers(Any.asset());
+
+        assertThrows(UnsupportedOperationException.class, () -> hotspot.getMembers().add(Any.asset()));
+        assertThrows(UnsupportedOperationException.class, () -> hotspot.getMembers().remove(0));
+    }
+
+    private void whenAddMembers(Asset... assets) {
+        for (var asset : assets)
+            hotspot.addMember(asset);
+    }
+}
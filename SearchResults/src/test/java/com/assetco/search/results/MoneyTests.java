@@ -25,6 +25,72 @@ public class MoneyTests {
         thenAmountIs(anyAmount);
     }
 
+    @Test
+    public void wholeCentsAreKeptAsMinorUnits() {
+        givenMoneyWithAmount(anyAmount);
+
+        assertTrue(money.hasExactMinorUnits());
+        assertEquals(12340, money.getMinorUnits());
+    }
+
+    @Test
+    public void fractionsOfACentAreNotMinorUnits() {
+        givenMoneyWithAmount("0.005");
+
+        assertFalse(money.hasExactMinorUnits());
+        assertThrows(ArithmeticException.class, () -> money.getMinorUnits());
+    }
+
+    @Test
+    public void enormousAmountsAreNotMinorUnits() {
+        givenMoneyWithAmount("1E+30");
+
+        assertFalse(money.hasExactMinorUnits());
+    }
+
+    @Test
+    public void thresholdsAreInclusive() {
+        givenMoneyWithAmount("5000.00");
+
+        assertTrue(money.isAtLeast(5000_00));
+        assertFalse(money.isAtLeast(5000_01));
+    }
+
+    @Test
+    public void comparisonsAgreeWithBigDecimal() {
+        var random = new Random(1234);
+        for (var i = 0; i < 10_000; ++i) {
+            var left = anyAmount(random);
+            var right = anyAmount(random);
+            var threshold = (long) random.nextInt(2_000_000) - 1_000_000;
+            var leftFactor = 1 + random.nextInt(12);
+            var rightFactor = 1 + random.nextInt(12);
+            var leftMoney = new Money(left);
+            var rightMoney = new Money(right);
+            var thresholdAmount = BigDecimal.valueOf(threshold, 2);
+
+            assertEquals(left.compareTo(thresholdAmount) >= 0, leftMoney.isAtLeast(threshold), left + " >= " + thresholdAmount);
+            assertEquals(left.subtract(right).compareTo(thresholdAmount) >= 0, leftMoney.isAtLeastAfterSubtracting(rightMoney, threshold), left + " - " + right + " >= " + thresholdAmount);
+            assertEquals(
+                    Integer.signum(left.multiply(BigDecimal.valueOf(leftFactor)).compareTo(right.multiply(BigDecimal.valueOf(rightFactor)))),
+                    Integer.signum(Money.compareScaled(leftMoney, leftFactor, rightMoney, rightFactor)),
+                    left + " * " + leftFactor + " vs " + right + " * " + rightFactor);
+        }
+    }
+
+    private static BigDecimal anyAmount(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 2);
+            case 1:
+                return BigDecimal.valueOf(random.nextInt(20_000) - 10_000);
+            case 2:
+                return BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 3);
+            default:
+                return BigDecimal.valueOf(random.nextLong(), random.nextInt(4));
+        }
+    }
+
     private void givenMoneyWithAmount(String amount) {
         money = new Money(new BigDecimal(amount));
     }
@@ -0,0 +1,131 @@
+package com.assetco.search.results;
+
+import org.junit.jupiter.api.*;
+
+import java.math.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchResultsColumnsTests {
+    private SearchResults results;
+
+    @BeforeEach
+    public void setup() {
+        results = new SearchResults();
+    }
+
+    @Test
+    public void columnsHoldEachAssetsFigures() {
+        var assets = givenAssets(20);
+
+        var columns = results.getColumns();
+
+        assertEquals(assets.size(), columns.size());
+        for (var i = 0; i < assets.size(); ++i) {
+            var asset = assets.get(i);
+            var features = asset.getSalesFeatures();
+            assertSame(asset, columns.getAsset(i));
+            assertEquals(asset.getVendor().getRelationshipLevel(), columns.getRelationshipLevel(i));
+            assertEquals(features.getTimesShownLast30Days(), columns.getTimesShownLast30Days(i));
+            assertEquals(features.getTimesPurchasedLast30Days(), columns.getTimesPurchasedLast30Days(i));
+            assertEquals(features.getTimesShownLast24Hours(), columns.getTimesShownLast24Hours(i));
+            assertEquals(features.getTimesPurchasedLast24Hours(), columns.getTimesPurchasedLast24Hours(i));
+        }
+    }
+
+    @Test
+    public void salesRulesAgreeWithTheAssetsFeatures() {
+        var random = new Random(8765);
+        for (var i = 0; i < 2_000; ++i)
+            results.addFound(assetWithSales(anyAmount(random), anyAmount(random)));
+        var columns = results.getColumns();
+
+        for (var i = 0; i < columns.size(); ++i) {
+            var features = columns.getAsset(i).getSalesFeatures();
+            var cents = (long) random.nextInt(2_000_000) - 1_000_000;
+            var numerator = 1 + random.nextInt(2_000);
+            var denominator = 1 + random.nextInt(12);
+
+            assertEquals(features.hasRevenueAtLeast(cents), columns.hasRevenueAtLeast(i, cents));
+            assertEquals(features.hasMarginAtLeast(cents), columns.hasMarginAtLeast(i, cents));
+            assertEquals(features.hasRoyaltiesAtMost(numerator, denominator), columns.hasRoyaltiesAtMost(i, numerator, denominator));
+        }
+    }
+
+    @Test
+    public void topicsAreNumberedInTheOrderFirstSeen() {
+        var fashion = new AssetTopic("fashion", "Fashion");
+        var sport = new AssetTopic("sport", "Sport");
+        results.addFound(assetWithTopics(sport));
+        results.addFound(assetWithTopics());
+        results.addFound(assetWithTopics(fashion, new AssetTopic("sport", "Sport again")));
+
+        var columns = results.getColumns();
+
+        assertEquals(2, columns.getTopicCount());
+        assertEquals(0, columns.getTopicNumber("sport"));
+        assertEquals(1, columns.getTopicNumber("fashion"));
+        assertEquals(-1, columns.getTopicNumber("news"));
+        assertEquals("fashion", columns.getTopicId(1));
+        assertEquals(List.of(0), topicNumbers(columns, 0));
+        assertEquals(List.of(), topicNumbers(columns, 1));
+        assertEquals(List.of(1, 0), topicNumbers(columns, 2));
+        assertTrue(columns.hasTopic(2, 0));
+        assertFalse(columns.hasTopic(0, 1));
+        assertFalse(columns.hasTopic(1, -1));
+    }
+
+    @Test
+    public void columnsAreKeptUntilAnotherAssetIsFound() {
+        givenAssets(3);
+        var columns = results.getColumns();
+
+        assertSame(columns, results.getColumns());
+
+        results.addFound(Any.asset());
+
+        assertNotSame(columns, results.getColumns());
+        assertEquals(3, columns.size());
+        assertEquals(4, results.getColumns().size());
+    }
+
+    private List<Asset> givenAssets(int count) {
+        var result = new ArrayList<Asset>();
+        for (var i = 0; i < count; ++i) {
+            result.add(Any.asset());
+            results.addFound(result.get(i));
+        }
+
+        return result;
+    }
+
+    private static List<Integer> topicNumbers(SearchResultsColumns columns, int index) {
+        var result = new ArrayList<Integer>();
+        for (var position = columns.getTopicStart(index); position < columns.getTopicStart(index + 1); ++position)
+            result.add(columns.getTopicNumberAt(position));
+
+        return result;
+    }
+
+    private static Asset assetWithSales(BigDecimal revenue, BigDecimal royalties) {
+        var last30Days = new AssetPurchaseInfo(0, 0, new Money(revenue), new Money(royalties));
+        return new Asset(Any.string(), Any.string(), null, null, last30Days, Any.assetPurchaseInfo(), List.of(), Any.vendor());
+    }
+
+    private static Asset assetWithTopics(AssetTopic... topics) {
+        return new Asset(Any.string(), Any.string(), null, null, Any.assetPurchaseInfo(), Any.assetPurchaseInfo(), List.of(topics), Any.vendor());
+    }
+
+    // whole cents, fractions of a cent and amounts too large for cents in a long, so both ways of comparing are used
+    private static BigDecimal anyAmount(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 2);
+            case 1:
+                return BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 3);
+            default:
+                return BigDecimal.valueOf(random.nextLong(), random.nextInt(3));
+        }
+    }
+}
@@ -2,8 +2,7 @@ package com.assetco.search.results;
 
 import org.junit.jupiter.api.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SearchResultsTests {
     private SearchResults results;
@@ -54,6 +53,57 @@ public class SearchResultsTests {
         thenHotspotItemCountIs(key, 0);
     }
 
+    @Test
+    public void clearingHotspotsEmptiesThemInPlace() {
+        var key = Any.hotspotKey();
+        var hotspot = results.getHotspot(key);
+        givenItemAddedToHotspot(key);
+
+        whenClearHotspots();
+
+        assertSame(hotspot, results.getHotspot(key));
+        assertEquals(0, hotspot.getMembers().size());
+    }
+
+    @Test
+    public void hotspotsCanBeRefilledAfterClearing() {
+        var key = Any.hotspotKey();
+        var oldMember = givenItemAddedToHotspot(key);
+        whenClearHotspots();
+
+        var newMember = whenAddItemToHotspot(key);
+
+        thenHotspotItemCountIs(key, 1);
+        thenHotspotHasMember(key, newMember);
+        assertFalse(results.getHotspot(key).getMembers().contains(oldMember));
+    }
+
+    @Test
+    public void clearingEmptiesFoundAssetsAndHotspotsForTheNextSearch() {
+        var key = Any.hotspotKey();
+        whenAddAsset();
+        var hotspot = results.getHotspot(key);
+        givenItemAddedToHotspot(key);
+        results.getColumns();
+
+        results.clear();
+        var asset = whenAddAsset();
+
+        thenFoundItemCountIs(1);
+        thenFoundContains(asset);
+        assertSame(hotspot, results.getHotspot(key));
+        thenHotspotItemCountIs(key, 0);
+        assertEquals(1, results.getColumns().size());
+    }
+
+    @Test
+    public void eachKeyHasItsOwnHotspot() {
+        for (var key : HotspotKey.values())
+            for (var other : HotspotKey.values())
+                if (key != other)
+                    assertNotSame(results.getHotspot(key), results.getHotspot(other));
+    }
+
     private void whenClearHotspots() {
         results.clearHotspots();
     }